@@ -15,8 +15,8 @@ function App() {
   const handleFileChange = (e) => {
     const selectedFile = e.target.files[0];
     if (selectedFile) {
-      if (selectedFile.size > 2 * 1024 * 1024) {
-        setError('File size exceeds 2MB limit');
+      if (selectedFile.size > 20 * 1024 * 1024) {
+        setError('File size exceeds 20MB limit');
         return;
       }
       setFile(selectedFile);
@@ -41,7 +41,8 @@ function App() {
       const response = await axios.post(`${API_BASE_URL}/analyze`, formData);
       setResult(response.data);
     } catch (err) {
-      setError('Analysis failed. Please ensure the backend is running and the file is a valid PDF or DOCX.');
+      setError(err.response?.data?.message
+        || 'Analysis failed. Please ensure the backend is running and the file is a valid PDF or DOCX.');
       console.error(err);
     } finally {
       setLoading(false);
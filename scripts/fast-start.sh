@@ -0,0 +1,87 @@
+#!/bin/sh
+# Prepares a fast-starting copy of the backend in <dir>, in two steps:
+#
+#   extract  unpacks the executable jar into <dir>/application.jar (the
+#            application classes) and <dir>/lib, since class data sharing
+#            needs plain jars on the classpath, and writes <dir>/app.args
+#            with the classpath, main class and, for a jar built with
+#            -P fast-start, -Dspring.aot.enabled=true. Needs a JDK.
+#   train    starts the app, sends sample resumes through the analyze
+#            endpoints and stops it, dumping every class it loaded into the
+#            CDS archive <dir>/app.jsa.
+#
+# Start it with:  java -XX:SharedArchiveFile=<dir>/app.jsa @<dir>/app.args
+#
+# The archive only works with the same JVM build and the same jars at the
+# same paths, so train where the app will run (e.g. in the image).
+#
+# Usage: scripts/fast-start.sh <app.jar> <dir>   (both steps)
+#        scripts/fast-start.sh extract <app.jar> <dir>
+#        scripts/fast-start.sh train <dir>
+set -eu
+
+MAIN_CLASS=com.atschecker.AtsCheckerApplication
+
+usage() {
+    echo "Usage: $0 [extract] <app.jar> <dir> | $0 train <dir>" >&2
+    exit 2
+}
+
+extract() {
+    jar=$(cd "$(dirname "$1")" && pwd)/$(basename "$1")
+    mkdir -p "$2"
+    dir=$(cd "$2" && pwd)
+    rm -rf "$dir/application.jar" "$dir/lib" "$dir/app.args" "$dir/app.jsa"
+
+    unpacked=$(mktemp -d)
+    (cd "$unpacked" && jar --extract --file "$jar")
+    jar --create --file "$dir/application.jar" -C "$unpacked/BOOT-INF/classes" .
+    mv "$unpacked/BOOT-INF/lib" "$dir/lib"
+
+    # Fixed order, so the classpath matches the one recorded in the archive
+    classpath="$dir/application.jar"
+    for lib in $(ls "$dir/lib" | sort); do
+        classpath="$classpath:$dir/lib/$lib"
+    done
+    {
+        echo "-cp $classpath"
+        if find "$unpacked/BOOT-INF/classes" -name '*__ApplicationContextInitializer.class' | grep -q .; then
+            echo "-Dspring.aot.enabled=true"
+        fi
+        echo "$MAIN_CLASS"
+    } > "$dir/app.args"
+    rm -rf "$unpacked"
+    echo "Extracted $jar to $dir"
+}
+
+train() {
+    dir=$(cd "$1" && pwd)
+    rm -f "$dir/app.jsa"
+    # Nothing from the training run is kept apart from the archive. Classes it
+    # cannot hold (proxies, ones that fail verification) are skipped, so only
+    # errors are logged
+    java -XX:ArchiveClassesAtExit="$dir/app.jsa" -Xlog:cds=error @"$dir/app.args" \
+        --server.port=0 \
+        --ats.training.run=true \
+        --ats.jobs.dir= \
+        --ats.talent-pool.dir= \
+        --ats.parse-cache.disk-dir=
+    test -f "$dir/app.jsa"
+    echo "Wrote $dir/app.jsa"
+}
+
+case "${1:-}" in
+    extract)
+        [ $# -eq 3 ] || usage
+        extract "$2" "$3"
+        ;;
+    train)
+        [ $# -eq 2 ] || usage
+        train "$2"
+        ;;
+    *)
+        [ $# -eq 2 ] || usage
+        extract "$1" "$2"
+        train "$2"
+        ;;
+esac
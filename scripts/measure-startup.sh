@@ -0,0 +1,88 @@
+#!/bin/bash
+# Measures startup time (launch until /api/resume/health answers) and the
+# latency of the first analyze request, for the plain executable jar and for
+# the fast-start copy made by scripts/fast-start.sh. Each variant is started
+# <runs> times after one discarded warm-up start, and the median, min and max
+# are reported in milliseconds.
+#
+# Build and prepare first:
+#   mvn -P fast-start package -DskipTests
+#   scripts/fast-start.sh target/ats-checker-0.0.1-SNAPSHOT.jar target/fast-start
+#
+# Usage: scripts/measure-startup.sh [runs] [resume-file]
+set -euo pipefail
+
+RUNS=${1:-5}
+RESUME=${2:-}
+JAR=${JAR:-target/ats-checker-0.0.1-SNAPSHOT.jar}
+FAST_START_DIR=${FAST_START_DIR:-target/fast-start}
+PORT=${PORT:-18080}
+JOB_DESCRIPTION="Senior backend engineer: Java, Spring Boot, PostgreSQL, Docker and Kubernetes."
+APP_ARGS=(--server.port="$PORT" --ats.jobs.dir= --ats.talent-pool.dir= --ats.parse-cache.disk-dir=)
+
+WORK=$(mktemp -d)
+APP_PID=
+trap '[ -n "$APP_PID" ] && kill "$APP_PID" 2> /dev/null; rm -rf "$WORK"' EXIT
+if curl -s -o /dev/null "http://localhost:$PORT/"; then
+    echo "Port $PORT is already in use; set PORT to a free one" >&2
+    exit 1
+fi
+if [ -z "$RESUME" ]; then
+    RESUME=$WORK/resume.txt
+    printf '%s\n' "Jane Doe" "jane.doe@example.com | +1 555 0100" "Experience" \
+        "- Built REST APIs in Java and Spring Boot backed by PostgreSQL." \
+        "- Ran services on Docker and Kubernetes in AWS, cutting deploy time by 40%." \
+        "Education" "B.Sc. Computer Science" "Skills" "Java, Spring Boot, PostgreSQL, Docker, Kubernetes" > "$RESUME"
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Prints "<startup ms> <first request ms>" for one start of the given command
+measure() {
+    local started ready first
+    started=$(now_ms)
+    "$@" "${APP_ARGS[@]}" > "$WORK/app.log" 2>&1 &
+    APP_PID=$!
+    until curl -sf "http://localhost:$PORT/api/resume/health" > /dev/null; do
+        if ! kill -0 "$APP_PID" 2> /dev/null; then
+            echo "Application exited during startup:" >&2
+            tail -20 "$WORK/app.log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    ready=$(now_ms)
+    first=$(curl -sf -o /dev/null -w '%{time_total}' -F "file=@$RESUME" -F "jobDescription=$JOB_DESCRIPTION" \
+        "http://localhost:$PORT/api/resume/analyze")
+    kill "$APP_PID"
+    wait "$APP_PID" || true
+    APP_PID=
+    echo "$(( ready - started )) $(awk -v s="$first" 'BEGIN { printf "%d", s * 1000 }')"
+}
+
+# Prints "median min max" of the numbers on stdin
+summarize() {
+    sort -n | awk '{ v[NR] = $1 } END { printf "%6d %6d %6d", v[int((NR + 1) / 2)], v[1], v[NR] }'
+}
+
+report() {
+    local name=$1
+    shift
+    measure "$@" > /dev/null
+    : > "$WORK/results"
+    for _ in $(seq "$RUNS"); do
+        measure "$@" >> "$WORK/results"
+    done
+    printf '%-12s startup %s   first request %s\n' "$name" \
+        "$(cut -d' ' -f1 "$WORK/results" | summarize)" "$(cut -d' ' -f2 "$WORK/results" | summarize)"
+}
+
+echo "$RUNS runs each, milliseconds (median min max), resume $RESUME"
+report "jar" java -jar "$JAR"
+if [ -f "$FAST_START_DIR/app.jsa" ]; then
+    report "fast-start" java -XX:SharedArchiveFile="$FAST_START_DIR/app.jsa" @"$FAST_START_DIR/app.args"
+else
+    echo "No $FAST_START_DIR/app.jsa; run scripts/fast-start.sh to compare the fast-start build" >&2
+fi
@@ -0,0 +1,191 @@
+package com.atschecker.fixtures;
+
+import com.atschecker.util.TechnicalDictionary;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.BreakType;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Deterministic synthetic resumes and job descriptions, generated in memory so
+ * the benchmarks and load tests run offline and produce the same inputs on
+ * every machine.
+ */
+public final class ResumeFixtures {
+
+    public enum Format {
+        PDF("resume.pdf", "application/pdf"),
+        DOCX("resume.docx", "application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+        TXT("resume.txt", "text/plain");
+
+        public final String fileName;
+        public final String contentType;
+
+        Format(String fileName, String contentType) {
+            this.fileName = fileName;
+            this.contentType = contentType;
+        }
+    }
+
+    public static final int LINES_PER_PAGE = 45;
+
+    private static final long SEED = 42L;
+
+    private static final String[] SECTIONS = {
+            "Summary", "Work Experience", "Education", "Technical Skills", "Projects", "Contact" };
+
+    private static final String[] WORDS = {
+            "designed", "built", "maintained", "led", "improved", "delivered", "services", "platform", "team",
+            "customers", "latency", "reliability", "migration", "features", "release", "pipeline", "reports",
+            "reduced", "costs", "by", "percent", "across", "multiple", "regions", "with", "and", "the", "for",
+            "owned", "roadmap", "mentored", "engineers", "on", "production", "incidents", "scalable", "systems" };
+
+    // Bullets and dingbats that survive PDF text extraction (WinAnsi) and trip the formatting checks
+    private static final String[] SYMBOLS = { "•", "§", "¶", "†", "‡", "©", "®", "™", "±", "…", "«", "»", "~", "|", "*" };
+
+    private static final List<String> SKILLS = TechnicalDictionary.loadDefault().getSkillNames();
+
+    private ResumeFixtures() {
+    }
+
+    /**
+     * Plain resume text with section headers and roughly one skill every
+     * {@code skillEvery} words.
+     */
+    public static String resumeText(int pages, int skillEvery) {
+        return resumeText(pages, skillEvery, 0, SEED);
+    }
+
+    /**
+     * Resume text as above, with a {@code symbolNoise} share (0 to 1) of words
+     * replaced by symbols. Each seed gives a different resume.
+     */
+    public static String resumeText(int pages, int skillEvery, double symbolNoise, long seed) {
+        Random random = new Random(seed);
+        StringBuilder text = new StringBuilder();
+        text.append("Jane Doe\njane.doe@example.com | +1 555 0100\n");
+
+        int lines = pages * LINES_PER_PAGE;
+        for (int line = 0; line < lines; line++) {
+            if (line % 15 == 0) {
+                text.append(SECTIONS[(line / 15) % SECTIONS.length]).append('\n');
+                continue;
+            }
+            text.append("- ");
+            int words = 8 + random.nextInt(8);
+            for (int w = 0; w < words; w++) {
+                if (w > 0)
+                    text.append(' ');
+                if (symbolNoise > 0 && random.nextDouble() < symbolNoise) {
+                    text.append(SYMBOLS[random.nextInt(SYMBOLS.length)]);
+                } else if (random.nextInt(skillEvery) == 0) {
+                    text.append(SKILLS.get(random.nextInt(SKILLS.size())));
+                } else {
+                    text.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+            }
+            text.append(random.nextInt(4) == 0 ? ",\n" : ".\n");
+        }
+        return text.toString();
+    }
+
+    public static String resumeText(int pages) {
+        return resumeText(pages, 10);
+    }
+
+    /**
+     * Job description prose of the given word count with a skill every eighth word.
+     */
+    public static String jobDescription(int words) {
+        Random random = new Random(SEED + 1);
+        StringBuilder text = new StringBuilder("We are hiring a senior engineer. Requirements: ");
+        for (int w = 0; w < words; w++) {
+            if (random.nextInt(8) == 0) {
+                text.append(SKILLS.get(random.nextInt(SKILLS.size())));
+            } else {
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            text.append(w % 12 == 11 ? ". " : " ");
+        }
+        return text.toString();
+    }
+
+    /**
+     * JD keyword set of the requested size: dictionary skills first, then
+     * synthetic multi-token phrases once the dictionary is exhausted.
+     */
+    public static Set<String> keywords(int count) {
+        List<String> shuffled = new ArrayList<>(SKILLS);
+        Collections.shuffle(shuffled, new Random(SEED + 2));
+
+        Set<String> keywords = new LinkedHashSet<>();
+        for (int i = 0; keywords.size() < count; i++) {
+            keywords.add(i < shuffled.size() ? shuffled.get(i) : "Framework " + i);
+        }
+        return keywords;
+    }
+
+    public static byte[] render(Format format, int pages) throws IOException {
+        return render(format, resumeText(pages));
+    }
+
+    /**
+     * The text as a document of the given format, {@link #LINES_PER_PAGE}
+     * lines to a page.
+     */
+    public static byte[] render(Format format, String text) throws IOException {
+        switch (format) {
+            case PDF:
+                return pdf(text);
+            case DOCX:
+                return docx(text);
+            default:
+                return text.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] pdf(String text) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            String[] lines = text.split("\n");
+            for (int start = 0; start < lines.length; start += LINES_PER_PAGE) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.newLineAtOffset(50, 750);
+                    for (int i = start; i < Math.min(lines.length, start + LINES_PER_PAGE); i++) {
+                        content.showText(lines[i]);
+                        content.newLineAtOffset(0, -15);
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] docx(String text) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            String[] lines = text.split("\n");
+            for (int i = 0; i < lines.length; i++) {
+                XWPFRun run = document.createParagraph().createRun();
+                run.setText(lines[i]);
+                if (i % LINES_PER_PAGE == LINES_PER_PAGE - 1) {
+                    run.addBreak(BreakType.PAGE);
+                }
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.atschecker.bench;
+
+import com.atschecker.document.ResumeSegmenter;
+import com.atschecker.fixtures.ResumeFixtures;
+import com.atschecker.scorer.AtsScorer;
+import com.atschecker.scorer.CountScoringModel;
+import com.atschecker.scorer.FormattingSignal;
+import com.atschecker.scorer.SectionSignal;
+import com.atschecker.scorer.SkillStatistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The resume-only part of the score: segmenting the text, then the document
+ * signals reading the segments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AtsScorerBenchmark {
+
+    @Param({ "1", "5", "20" })
+    private int pages;
+
+    private AtsScorer scorer;
+    private String resumeText;
+
+    @Setup
+    public void setUp() {
+        scorer = new AtsScorer(List.of(new SectionSignal(), new FormattingSignal()),
+                List.of(new CountScoringModel()), new SkillStatistics(100_000), CountScoringModel.NAME);
+        resumeText = ResumeFixtures.resumeText(pages);
+    }
+
+    @Benchmark
+    public double calculateDocumentScore() {
+        return scorer.calculateDocumentScore(ResumeSegmenter.segment(resumeText), new ArrayList<>());
+    }
+}
@@ -0,0 +1,94 @@
+package com.atschecker.bench;
+
+import com.atschecker.analyzer.DictionaryRegistry;
+import com.atschecker.analyzer.JobProfile;
+import com.atschecker.analyzer.KeywordAnalyzer;
+import com.atschecker.document.ResumeDocument;
+import com.atschecker.document.ResumeSegmenter;
+import com.atschecker.fixtures.ResumeFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Matching a segmented resume against a compiled job profile: one scan of
+ * the dictionary automaton, then matched and missing skill-id bitsets, as the
+ * number of JD keywords grows. The per-keyword regex matcher that the profile
+ * path replaced runs over the same resume and keywords as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CountSkillsBenchmark {
+
+    @Param({ "10", "50", "250" })
+    private int keywordCount;
+
+    @Param({ "1", "5" })
+    private int pages;
+
+    private KeywordAnalyzer analyzer;
+    private String resumeText;
+    private ResumeDocument resume;
+    private Set<String> jdKeywords;
+    private JobProfile profile;
+
+    @Setup
+    public void setUp() throws IOException {
+        analyzer = new KeywordAnalyzer(new DictionaryRegistry("", false));
+        resumeText = ResumeFixtures.resumeText(pages);
+        resume = ResumeSegmenter.segment(resumeText);
+        jdKeywords = ResumeFixtures.keywords(keywordCount);
+        profile = analyzer.compileProfile("bench", String.join(", ", jdKeywords));
+    }
+
+    @Benchmark
+    public BitSet profileBitsets() {
+        int[] counts = analyzer.countSkills(resume, profile);
+        BitSet missing = profile.getSkillIds();
+        for (int i = 0; i < profile.keywordCount(); i++) {
+            if (counts[profile.keywordId(i)] > 0) {
+                missing.clear(profile.keywordId(i));
+            }
+        }
+        return missing;
+    }
+
+    @Benchmark
+    public List<String> regexBaseline() {
+        return regexFindMatches(resumeText, jdKeywords);
+    }
+
+    // The original KeywordAnalyzer.findMatches, kept as the comparison baseline
+    private static List<String> regexFindMatches(String resumeText, Set<String> jdKeywords) {
+        String lowerResume = resumeText.toLowerCase(Locale.ROOT);
+
+        return jdKeywords.stream()
+                .filter(keyword -> {
+                    String lowerKw = keyword.toLowerCase(Locale.ROOT);
+                    String pattern = "\\b" + Pattern.quote(lowerKw) + "\\b";
+
+                    if (lowerKw.endsWith("+") || lowerKw.endsWith("#") || lowerKw.contains(".")) {
+                        return lowerResume.contains(lowerKw);
+                    }
+
+                    try {
+                        return Pattern.compile(pattern).matcher(lowerResume).find();
+                    } catch (Exception e) {
+                        return lowerResume.contains(lowerKw);
+                    }
+                })
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
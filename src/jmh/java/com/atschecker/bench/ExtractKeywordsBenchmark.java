@@ -0,0 +1,37 @@
+package com.atschecker.bench;
+
+import com.atschecker.analyzer.DictionaryRegistry;
+import com.atschecker.analyzer.KeywordAnalyzer;
+import com.atschecker.fixtures.ResumeFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractKeywordsBenchmark {
+
+    // Job description length in words
+    @Param({ "100", "500", "2500" })
+    private int words;
+
+    private KeywordAnalyzer analyzer;
+    private String jobDescription;
+
+    @Setup
+    public void setUp() throws IOException {
+        analyzer = new KeywordAnalyzer(new DictionaryRegistry("", false));
+        jobDescription = ResumeFixtures.jobDescription(words);
+    }
+
+    @Benchmark
+    public Set<String> extractKeywords() {
+        return analyzer.extractKeywords(jobDescription);
+    }
+}
@@ -0,0 +1,57 @@
+package com.atschecker.bench;
+
+import com.atschecker.document.ResumeDocument;
+import com.atschecker.document.ResumeSegmenter;
+import com.atschecker.fixtures.ResumeFixtures;
+import com.atschecker.similarity.MinHash;
+import com.atschecker.similarity.NearDuplicateIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Near-duplicate detection: the signature of a segmented resume, and a lookup
+ * in an index of unrelated signatures, which should cost about the same
+ * however many are stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearDuplicateBenchmark {
+
+    @Param({ "1000", "1000000" })
+    private int indexed;
+
+    private ResumeDocument document;
+    private long[] signature;
+    private NearDuplicateIndex index;
+
+    @Setup
+    public void setUp() {
+        document = ResumeSegmenter.segment(ResumeFixtures.resumeText(1));
+        signature = MinHash.signature(document);
+        index = new NearDuplicateIndex(0.9, indexed);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] other = new long[MinHash.LONGS];
+        for (int i = 0; i < indexed; i++) {
+            for (int band = 0; band < other.length; band++) {
+                other[band] = random.nextLong();
+            }
+            index.add(other);
+        }
+    }
+
+    @Benchmark
+    public long[] signature() {
+        return MinHash.signature(document);
+    }
+
+    @Benchmark
+    public int nearest() {
+        return index.nearest(signature);
+    }
+}
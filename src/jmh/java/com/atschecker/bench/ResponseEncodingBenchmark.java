@@ -0,0 +1,86 @@
+package com.atschecker.bench;
+
+import com.atschecker.dto.AnalysisResponse;
+import com.atschecker.dto.ResponseField;
+import com.atschecker.util.TechnicalDictionary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing one analysis response as JSON or CBOR, with every field or
+ * with the compact set (skill ids, no text). The payload size of each
+ * combination is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({ "json", "cbor" })
+    private String encoding;
+
+    @Param({ "full", "compact" })
+    private String fields;
+
+    private ObjectMapper mapper;
+    private AnalysisResponse response;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        mapper = encoding.equals("cbor") ? new CBORMapper() : new ObjectMapper();
+        response = response(TechnicalDictionary.loadDefault(),
+                fields.equals("compact") ? ResponseField.COMPACT : ResponseField.FULL);
+        System.out.println(encoding + "/" + fields + ": " + mapper.writeValueAsBytes(response).length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    // A typical response for a 20-keyword job: 12 skills matched, 8 missing, the usual text
+    private static AnalysisResponse response(TechnicalDictionary dictionary, Set<ResponseField> fields) {
+        int[] matched = new int[12];
+        int[] missing = new int[8];
+        List<String> matchedNames = new ArrayList<>();
+        List<String> missingNames = new ArrayList<>();
+        for (int i = 0; i < matched.length; i++) {
+            matched[i] = i * 7;
+            matchedNames.add(dictionary.nameOf(matched[i]));
+        }
+        for (int i = 0; i < missing.length; i++) {
+            missing[i] = i * 7 + 3;
+            missingNames.add(dictionary.nameOf(missing[i]));
+        }
+
+        AnalysisResponse response = new AnalysisResponse();
+        response.setAtsScore(64);
+        if (fields.contains(ResponseField.MATCHED_KEYWORDS))
+            response.setMatchedKeywords(matchedNames);
+        if (fields.contains(ResponseField.MISSING_KEYWORDS))
+            response.setMissingKeywords(missingNames);
+        if (fields.contains(ResponseField.MATCHED_SKILL_IDS))
+            response.setMatchedSkillIds(matched);
+        if (fields.contains(ResponseField.MISSING_SKILL_IDS))
+            response.setMissingSkillIds(missing);
+        if (fields.contains(ResponseField.WARNINGS))
+            response.setWarnings(List.of("Missing a Projects section."));
+        if (fields.contains(ResponseField.SUGGESTIONS))
+            response.setSuggestions(List.of(
+                    "Consider adding keywords like: " + String.join(", ", missingNames.subList(0, 5)),
+                    "Tailor your work experience bullets to match the job requirements more closely."));
+        if (fields.contains(ResponseField.DICTIONARY_VERSION))
+            response.setDictionaryVersion(dictionary.getVersion());
+        return response;
+    }
+}
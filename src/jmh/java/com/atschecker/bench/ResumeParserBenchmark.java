@@ -0,0 +1,51 @@
+package com.atschecker.bench;
+
+import com.atschecker.fixtures.ResumeFixtures;
+import com.atschecker.parser.ParsedResume;
+import com.atschecker.parser.ParsedTextCache;
+import com.atschecker.parser.ResumeParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResumeParserBenchmark {
+
+    @Param({ "PDF", "DOCX", "TXT" })
+    private ResumeFixtures.Format format;
+
+    @Param({ "1", "5", "20" })
+    private int pages;
+
+    private ResumeParser parser;
+    private MockMultipartFile file;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Cache disabled so every invocation pays the full extraction cost
+        parser = new ResumeParser(new ParsedTextCache(false, DataSize.ofMegabytes(1), Duration.ZERO, "", DataSize.ofMegabytes(1)),
+                new SimpleMeterRegistry(), 0, 500_000, 64, Duration.ofSeconds(30), Duration.ofSeconds(5),
+                "thread", "512m");
+        file = new MockMultipartFile("file", format.fileName, format.contentType, ResumeFixtures.render(format, pages));
+    }
+
+    @TearDown
+    public void tearDown() {
+        parser.close();
+    }
+
+    @Benchmark
+    public ParsedResume parse() throws IOException {
+        return parser.parse(file);
+    }
+}
@@ -0,0 +1,78 @@
+package com.atschecker.bench;
+
+import com.atschecker.analyzer.DictionaryRegistry;
+import com.atschecker.analyzer.JobProfile;
+import com.atschecker.analyzer.KeywordAnalyzer;
+import com.atschecker.fixtures.ResumeFixtures;
+import com.atschecker.scorer.AtsScorer;
+import com.atschecker.scorer.Bm25ScoringModel;
+import com.atschecker.scorer.CountScoringModel;
+import com.atschecker.scorer.FormattingSignal;
+import com.atschecker.scorer.JobVector;
+import com.atschecker.scorer.SectionSignal;
+import com.atschecker.scorer.SkillStatistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks a batch of resumes, as per-skill count vectors, against one job
+ * vector computed up front, for each scoring model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringModelBenchmark {
+
+    private static final int RESUMES = 1000;
+
+    @Param({ CountScoringModel.NAME, Bm25ScoringModel.NAME })
+    private String model;
+
+    @Param({ "10", "50" })
+    private int keywordCount;
+
+    private AtsScorer scorer;
+    private JobVector vector;
+    private int[][] skillCounts;
+
+    @Setup
+    public void setUp() throws IOException {
+        KeywordAnalyzer analyzer = new KeywordAnalyzer(new DictionaryRegistry("", false));
+        JobProfile profile = analyzer.compileProfile("bench",
+                String.join(", ", ResumeFixtures.keywords(keywordCount)));
+        SkillStatistics statistics = new SkillStatistics(100_000);
+        scorer = new AtsScorer(List.of(new SectionSignal(), new FormattingSignal()),
+                List.of(new CountScoringModel(), new Bm25ScoringModel(1.2f, 0.75f, 20)), statistics, model);
+
+        // About 30 mentions per resume spread over the dictionary, a few repeated
+        Random random = new Random(42);
+        int skills = profile.getDictionary().size();
+        skillCounts = new int[RESUMES][skills];
+        for (int resume = 0; resume < RESUMES; resume++) {
+            int[] counts = skillCounts[resume];
+            for (int mention = 0; mention < 30; mention++) {
+                counts[random.nextInt(skills)] += 1;
+            }
+            // Distinct stand-in digests, so every resume counts
+            statistics.observe(HexFormat.of().toHexDigits((long) resume), profile.getDictionary(), counts);
+        }
+        vector = scorer.vectorFor(profile);
+    }
+
+    @Benchmark
+    public int rank() {
+        int best = 0;
+        for (int[] counts : skillCounts) {
+            best = Math.max(best, scorer.score(vector, counts, 30));
+        }
+        return best;
+    }
+}
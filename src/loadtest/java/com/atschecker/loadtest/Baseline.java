@@ -0,0 +1,91 @@
+package com.atschecker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Results of a load test run, one step per arrival rate, as stored in the
+ * baseline file and in target/loadtest/loadtest-result.json. Whether the
+ * server's parse cache was on is recorded too, since with it on most
+ * requests skip parsing and the latencies are not comparable.
+ */
+record Baseline(String workload, Boolean parseCacheEnabled, List<Step> steps) {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record Step(double rate, double throughput, double p50Ms, double p90Ms, double p99Ms, double p999Ms,
+            double maxMs, long succeeded, long failed) {
+    }
+
+    static Baseline read(Path file) throws IOException {
+        return JSON.readValue(file.toFile(), Baseline.class);
+    }
+
+    void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JSON.writeValue(file.toFile(), this);
+    }
+
+    /**
+     * Compares a run against this baseline, step by step at matching rates.
+     * A step regresses when its p99 grows or its throughput falls by more than
+     * the given fractions, or too many of its requests fail. Prints the
+     * comparison and returns whether every step passed.
+     */
+    boolean check(Baseline run, double maxP99Increase, double maxThroughputDrop, double maxErrorRate,
+            PrintStream out) {
+        out.printf("%nBaseline: %s%n", workload);
+        if (!workload.equals(run.workload)) {
+            out.printf("Run:      %s%nWorkloads differ; run with the baseline's settings or update it%n",
+                    run.workload);
+            return false;
+        }
+        if (!Objects.equals(parseCacheEnabled, run.parseCacheEnabled)) {
+            out.printf("Parse cache enabled on the server: %s, in the baseline: %s%n"
+                    + "Restart it with --ats.parse-cache.enabled=%s or update the baseline%n",
+                    run.parseCacheEnabled, parseCacheEnabled, parseCacheEnabled);
+            return false;
+        }
+
+        boolean passed = true;
+        for (Step step : run.steps) {
+            long total = step.succeeded + step.failed;
+            double errorRate = total == 0 ? 1 : (double) step.failed / total;
+            if (errorRate > maxErrorRate) {
+                out.printf("FAIL rate %.1f/s: %.1f%% of requests failed (limit %.1f%%)%n",
+                        step.rate, errorRate * 100, maxErrorRate * 100);
+                passed = false;
+            }
+
+            Step expected = steps.stream().filter(candidate -> candidate.rate == step.rate).findFirst().orElse(null);
+            if (expected == null) {
+                out.printf("     rate %.1f/s: not in the baseline%n", step.rate);
+                continue;
+            }
+            boolean p99Ok = step.p99Ms <= expected.p99Ms * (1 + maxP99Increase);
+            boolean throughputOk = step.throughput >= expected.throughput * (1 - maxThroughputDrop);
+            out.printf("%s rate %.1f/s: p99 %.1f ms (baseline %.1f, %+.0f%%), throughput %.2f/s (baseline %.2f, %+.0f%%)%n",
+                    p99Ok && throughputOk ? "ok  " : "FAIL", step.rate,
+                    step.p99Ms, expected.p99Ms, change(step.p99Ms, expected.p99Ms),
+                    step.throughput, expected.throughput, change(step.throughput, expected.throughput));
+            passed &= p99Ok && throughputOk;
+        }
+        out.println(passed ? "No regressions" : String.format(
+                "Regressed beyond the limits (p99 +%.0f%%, throughput -%.0f%%)",
+                maxP99Increase * 100, maxThroughputDrop * 100));
+        return passed;
+    }
+
+    private static double change(double value, double baseline) {
+        return baseline == 0 ? 0 : (value - baseline) / baseline * 100;
+    }
+}
@@ -0,0 +1,231 @@
+package com.atschecker.loadtest;
+
+import com.atschecker.fixtures.ResumeFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a running instance's /api/resume/analyze at fixed arrival rates and
+ * compares throughput and p99 latency with a checked-in baseline.
+ *
+ * Requests are sent on schedule whether or not earlier ones have answered
+ * (an open model), and each latency is measured from the time the request
+ * was due to be sent, not when it actually went out. A server that stalls
+ * therefore shows up as the whole backlog it caused, rather than as one slow
+ * request (coordinated omission).
+ *
+ * Run with mvn -P loadtest test; see the profile in pom.xml for the options.
+ */
+public final class LoadTest {
+
+    private static final String JOB_DESCRIPTION = ResumeFixtures.jobDescription(120);
+
+    private static final int WARMUP_CONCURRENCY = 4;
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final PrintStream out = System.out;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.exit(new LoadTest(options).run() ? 0 : 1);
+    }
+
+    private boolean run() throws IOException, InterruptedException {
+        Boolean parseCacheEnabled = parseCacheEnabled();
+        out.printf("Server parse cache: %s%n", parseCacheEnabled == null ? "not reported"
+                : parseCacheEnabled ? "enabled" : "disabled");
+        out.printf("Generating %d %s resumes (%d pages, a skill every %d words, %.0f%% symbol noise)%n",
+                options.resumes, options.format, options.pages, options.skillEvery, options.symbolNoise * 100);
+        List<HttpRequest> requests = new ArrayList<>();
+        for (int i = 0; i < options.resumes; i++) {
+            String text = ResumeFixtures.resumeText(options.pages, options.skillEvery, options.symbolNoise, i);
+            Multipart body = new Multipart()
+                    .field("jobDescription", JOB_DESCRIPTION)
+                    .file("file", options.format.fileName, options.format.contentType,
+                            ResumeFixtures.render(options.format, text));
+            requests.add(HttpRequest.newBuilder(URI.create(options.url + "/api/resume/analyze"))
+                    .timeout(options.timeout)
+                    .header("Content-Type", body.contentType())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                    .build());
+        }
+
+        warmUp(requests);
+
+        Files.createDirectories(options.outputDir);
+        List<Baseline.Step> results = new ArrayList<>();
+        for (double rate : options.rates) {
+            results.add(runStep(requests, rate));
+        }
+
+        Baseline current = new Baseline(options.describe(), parseCacheEnabled, results);
+        current.write(options.outputDir.resolve("loadtest-result.json"));
+        if (options.updateBaseline) {
+            current.write(options.baseline);
+            out.println("Baseline written to " + options.baseline);
+            return true;
+        }
+        if (!Files.exists(options.baseline)) {
+            out.println("No baseline at " + options.baseline + "; run with -Dloadtest.update-baseline=true to create one");
+            return true;
+        }
+        return Baseline.read(options.baseline).check(current, options.maxP99Increase, options.maxThroughputDrop,
+                options.maxErrorRate, out);
+    }
+
+    /**
+     * The server's ats.parse-cache.enabled as published at /actuator/info, or
+     * null if it doesn't say.
+     */
+    private Boolean parseCacheEnabled() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(options.url + "/actuator/info"))
+                .timeout(options.timeout)
+                .GET()
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IOException("Could not reach " + options.url, e);
+        }
+        if (response.statusCode() != 200)
+            return null;
+        JsonNode enabled = new ObjectMapper().readTree(response.body()).path("parse-cache").path("enabled");
+        return enabled.isMissingNode() ? null : Boolean.valueOf(enabled.asText());
+    }
+
+    /**
+     * Sends {@code warmupRequests} requests a few at a time, as fast as they
+     * are answered, so the server's JIT has compiled the hot paths before
+     * anything is measured and results don't depend on what it served before.
+     */
+    private void warmUp(List<HttpRequest> requests) throws IOException, InterruptedException {
+        if (options.warmupRequests <= 0)
+            return;
+        out.printf("%nWarming up with %d requests%n", options.warmupRequests);
+        Semaphore slots = new Semaphore(WARMUP_CONCURRENCY);
+        AtomicLong failed = new AtomicLong();
+        AtomicReference<Throwable> unreachable = new AtomicReference<>();
+        for (int i = 0; i < options.warmupRequests && unreachable.get() == null; i++) {
+            slots.acquire();
+            client.sendAsync(requests.get(i % requests.size()), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            unreachable.compareAndSet(null, error);
+                        } else if (response.statusCode() != 200) {
+                            failed.incrementAndGet();
+                        }
+                        slots.release();
+                    });
+        }
+        slots.acquire(WARMUP_CONCURRENCY);
+        // No point measuring a server that doesn't answer
+        if (unreachable.get() != null)
+            throw new IOException("Warm-up request to " + options.url + " failed", unreachable.get());
+        if (failed.get() > 0) {
+            out.printf("  %d warm-up requests failed%n", failed.get());
+        }
+    }
+
+    private Baseline.Step runStep(List<HttpRequest> requests, double rate) throws IOException, InterruptedException {
+        out.printf("%nRate %.1f/s: %ds warm-up, %ds measured%n", rate,
+                options.warmup.toSeconds(), options.duration.toSeconds());
+        // Nothing takes longer than the request timeout plus however far the schedule falls behind
+        long highestLatency = options.warmup.plus(options.duration).plus(options.timeout).multipliedBy(2).toNanos();
+        Recorder recorder = new Recorder(highestLatency, 3);
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong lastCompletion = new AtomicLong();
+        AtomicReference<String> firstFailure = new AtomicReference<>();
+        // Counts requests still in flight so the step waits for the last of them
+        Phaser inFlight = new Phaser(1);
+
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due >= end)
+                break;
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+
+            boolean measured = due >= measureFrom;
+            inFlight.register();
+            client.sendAsync(requests.get((int) (i % requests.size())), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long now = System.nanoTime();
+                        if (measured) {
+                            if (error == null && response.statusCode() == 200) {
+                                // From when it was due, so time spent queued behind a stall is counted
+                                recorder.recordValue(Math.min(now - due, highestLatency));
+                                succeeded.incrementAndGet();
+                            } else {
+                                // Rejections and timeouts count against the error rate, not the latencies
+                                failed.incrementAndGet();
+                                firstFailure.compareAndSet(null, error != null ? error.toString()
+                                        : "HTTP " + response.statusCode() + " " + response.body());
+                            }
+                            lastCompletion.accumulateAndGet(now, Math::max);
+                        }
+                        inFlight.arriveAndDeregister();
+                    });
+        }
+        inFlight.arriveAndAwaitAdvance();
+
+        Histogram latencies = recorder.getIntervalHistogram();
+        // Throughput over the window, stretched if the last measured response came after it closed
+        double seconds = (Math.max(end, lastCompletion.get()) - measureFrom) / 1e9;
+        Baseline.Step step = new Baseline.Step(rate, succeeded.get() / seconds,
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()), succeeded.get(), failed.get());
+
+        Path histogramFile = options.outputDir.resolve(String.format("rate-%s.hgrm", rate));
+        try (PrintStream file = new PrintStream(Files.newOutputStream(histogramFile))) {
+            latencies.outputPercentileDistribution(file, 1e6);
+        }
+        out.printf("  throughput %.2f/s  p50 %.1f ms  p90 %.1f ms  p99 %.1f ms  p99.9 %.1f ms  max %.1f ms  "
+                + "ok %d  failed %d%n", step.throughput(), step.p50Ms(), step.p90Ms(), step.p99Ms(),
+                step.p999Ms(), step.maxMs(), step.succeeded(), step.failed());
+        if (firstFailure.get() != null) {
+            out.println("  first failure: " + firstFailure.get());
+        }
+        return step;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
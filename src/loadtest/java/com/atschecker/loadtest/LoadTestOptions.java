@@ -0,0 +1,99 @@
+package com.atschecker.loadtest;
+
+import com.atschecker.fixtures.ResumeFixtures;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test settings, given as --name=value arguments.
+ */
+final class LoadTestOptions {
+
+    String url = "http://localhost:8080";
+    double[] rates = { 8, 16, 32 };
+    // Sent before the first step, a few at a time
+    int warmupRequests = 3000;
+    // At the step's rate before measuring, so queues settle
+    Duration warmup = Duration.ofSeconds(15);
+    Duration duration = Duration.ofSeconds(60);
+    Duration timeout = Duration.ofSeconds(30);
+
+    ResumeFixtures.Format format = ResumeFixtures.Format.PDF;
+    int pages = 2;
+    int skillEvery = 10;
+    double symbolNoise = 0;
+    // Distinct documents sent in turn
+    int resumes = 200;
+
+    Path baseline = Paths.get("src/loadtest/baseline.json");
+    Path outputDir = Paths.get("target/loadtest");
+    boolean updateBaseline;
+    double maxP99Increase = 0.50;
+    double maxThroughputDrop = 0.10;
+    double maxErrorRate = 0.01;
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0)
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue().trim();
+            switch (entry.getKey()) {
+                case "url" -> options.url = value.replaceAll("/+$", "");
+                case "rates" -> options.rates = Arrays.stream(value.split(","))
+                        .mapToDouble(rate -> Double.parseDouble(rate.trim()))
+                        .toArray();
+                case "warmup-requests" -> options.warmupRequests = Integer.parseInt(value);
+                case "warmup" -> options.warmup = seconds(value);
+                case "duration" -> options.duration = seconds(value);
+                case "timeout" -> options.timeout = seconds(value);
+                case "format" -> options.format = ResumeFixtures.Format.valueOf(value.toUpperCase(Locale.ROOT));
+                case "pages" -> options.pages = Integer.parseInt(value);
+                case "skill-every" -> options.skillEvery = Integer.parseInt(value);
+                case "symbol-noise" -> options.symbolNoise = Double.parseDouble(value);
+                case "resumes" -> options.resumes = Integer.parseInt(value);
+                case "baseline" -> options.baseline = Paths.get(value);
+                case "output-dir" -> options.outputDir = Paths.get(value);
+                case "update-baseline" -> options.updateBaseline = Boolean.parseBoolean(value);
+                case "max-p99-increase" -> options.maxP99Increase = Double.parseDouble(value);
+                case "max-throughput-drop" -> options.maxThroughputDrop = Double.parseDouble(value);
+                case "max-error-rate" -> options.maxErrorRate = Double.parseDouble(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + entry.getKey());
+            }
+        }
+        if (options.rates.length == 0 || Arrays.stream(options.rates).anyMatch(rate -> rate <= 0))
+            throw new IllegalArgumentException("--rates needs one or more positive requests per second");
+        return options;
+    }
+
+    /**
+     * The workload, recorded with results so a baseline is only compared
+     * with runs of the same shape.
+     */
+    String describe() {
+        return String.format(Locale.ROOT, "%s, %d pages, skill every %d words, symbol noise %.2f, %d resumes, "
+                + "%d warm-up requests, %ds warm-up and %ds measured per rate", format, pages, skillEvery,
+                symbolNoise, resumes, warmupRequests, warmup.toSeconds(), duration.toSeconds());
+    }
+
+    // Plain numbers are seconds; anything else is an ISO-8601 duration such as PT1M
+    private static Duration seconds(String value) {
+        if (value.matches("\\d+"))
+            return Duration.ofSeconds(Long.parseLong(value));
+        if (value.matches("\\d+s"))
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        return Duration.parse(value);
+    }
+}
@@ -0,0 +1,47 @@
+package com.atschecker.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * A multipart/form-data request body, built up front so sending it costs
+ * nothing during the run.
+ */
+final class Multipart {
+
+    private final String boundary = UUID.randomUUID().toString();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    Multipart field(String name, String value) {
+        part("form-data; name=\"" + name + "\"", null, value.getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    Multipart file(String name, String fileName, String contentType, byte[] content) {
+        part("form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"", contentType, content);
+        return this;
+    }
+
+    String contentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() + 64);
+        out.writeBytes(body.toByteArray());
+        out.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private void part(String disposition, String contentType, byte[] content) {
+        StringBuilder headers = new StringBuilder("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: ").append(disposition).append("\r\n");
+        if (contentType != null) {
+            headers.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        body.writeBytes(headers.append("\r\n").toString().getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,46 @@
+package com.atschecker.analyzer;
+
+import com.atschecker.util.TechnicalDictionary;
+
+/**
+ * A skills dictionary together with its derived spelling variants and the
+ * automaton compiled from both. All are immutable, so a reference to one snapshot gives a consistent view of skill
+ * ids, names and matching for as long as the caller holds it.
+ */
+public final class CompiledDictionary {
+
+    private final TechnicalDictionary dictionary;
+    private final SkillVariants variants;
+    private final SkillMatcher matcher;
+
+    private CompiledDictionary(TechnicalDictionary dictionary, SkillVariants variants, SkillMatcher matcher) {
+        this.dictionary = dictionary;
+        this.variants = variants;
+        this.matcher = matcher;
+    }
+
+    public static CompiledDictionary compile(TechnicalDictionary dictionary) {
+        SkillVariants variants = SkillVariants.build(dictionary);
+        return new CompiledDictionary(dictionary, variants, SkillMatcher.compile(variants.getKeys(),
+                dictionary.getBlocked(), dictionary.getSkillNames()));
+    }
+
+    public TechnicalDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Every spelling the matcher knows: the dictionary's keys and the derived variants.
+     */
+    public SkillVariants getVariants() {
+        return variants;
+    }
+
+    public SkillMatcher getMatcher() {
+        return matcher;
+    }
+
+    public String getVersion() {
+        return dictionary.getVersion();
+    }
+}
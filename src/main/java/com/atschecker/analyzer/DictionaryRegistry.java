@@ -0,0 +1,123 @@
+package com.atschecker.analyzer;
+
+import com.atschecker.util.TechnicalDictionary;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the active skills dictionary. Readers take the current snapshot with a
+ * single volatile read and never block; a reload compiles the new dictionary
+ * and its automaton on the watcher thread and publishes it with one reference
+ * swap, so requests see either the old snapshot or the new one, never a mix.
+ *
+ * With ats.dictionary.file set, the file is watched and reloaded whenever it
+ * changes. A file that fails to parse is logged and the previous dictionary
+ * stays active. Without it, the bundled skills.dict is used.
+ */
+@Component
+public class DictionaryRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(DictionaryRegistry.class);
+
+    private final Path file;
+    private final boolean watch;
+    private final AtomicReference<CompiledDictionary> current = new AtomicReference<>();
+    private WatchService watchService;
+
+    public DictionaryRegistry(@Value("${ats.dictionary.file:}") String file,
+            @Value("${ats.dictionary.watch:true}") boolean watch) throws IOException {
+        this.file = file.isBlank() ? null : Paths.get(file).toAbsolutePath();
+        this.watch = watch && this.file != null;
+        TechnicalDictionary dictionary = this.file == null
+                ? TechnicalDictionary.loadDefault()
+                : TechnicalDictionary.load(this.file);
+        publish(CompiledDictionary.compile(dictionary));
+    }
+
+    /**
+     * The dictionary to use for the rest of the caller's operation.
+     */
+    public CompiledDictionary current() {
+        return current.get();
+    }
+
+    /**
+     * Reloads the dictionary file now. Returns the active dictionary, which is
+     * unchanged if there is no file or it could not be loaded. Synchronized so
+     * the watcher and the reload endpoint can't publish out of order.
+     */
+    public synchronized CompiledDictionary reload() {
+        if (file == null)
+            return current();
+        try {
+            TechnicalDictionary dictionary = TechnicalDictionary.load(file);
+            if (!dictionary.getVersion().equals(current().getVersion())) {
+                publish(CompiledDictionary.compile(dictionary));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Keeping dictionary {}; could not load {}: {}", current().getVersion(), file, e.getMessage());
+        }
+        return current();
+    }
+
+    @PostConstruct
+    void startWatcher() throws IOException {
+        if (!watch)
+            return;
+        watchService = file.getFileSystem().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread watcher = new Thread(this::watchLoop, "dictionary-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    void stopWatcher() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= file.getFileName().equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    // Editors often write in several steps; let them finish
+                    Thread.sleep(200);
+                    for (WatchKey pending = watchService.poll(); pending != null; pending = watchService.poll()) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    private void publish(CompiledDictionary dictionary) {
+        current.set(dictionary);
+        SkillVariants variants = dictionary.getVariants();
+        log.info("Skills dictionary {} active: {} skills, {} lookup keys and {} derived variants "
+                + "(built in {} ms), matcher {} KB{}", dictionary.getVersion(), dictionary.getDictionary().size(),
+                dictionary.getDictionary().getSkillsMap().size(), variants.getVariantCount(),
+                variants.getBuildNanos() / 1_000_000, dictionary.getMatcher().footprintBytes() / 1024,
+                file != null ? " from " + file : "");
+    }
+}
@@ -0,0 +1,88 @@
+package com.atschecker.analyzer;
+
+import com.atschecker.util.TechnicalDictionary;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A job description compiled for repeated use: its canonical keywords, so
+ * scoring a resume against it is a single scan of the dictionary automaton
+ * with no per-request JD work.
+ *
+ * Keywords are held as skill ids of the dictionary the profile was compiled
+ * with, both in JD order and as a bitset for set operations against a
+ * resume's skills. The normalized JD is kept so the profile can be recompiled
+ * when the dictionary is reloaded.
+ */
+public final class JobProfile {
+
+    private final String id;
+    private final String jobDescription;
+    private final TechnicalDictionary dictionary;
+    private final SkillMatcher dictionaryMatcher;
+    private final int[] keywordIds;
+    private final BitSet skillIds;
+    private final Set<String> keywords;
+
+    public JobProfile(String id, String jobDescription, CompiledDictionary compiled, int[] keywordIds) {
+        this.id = id;
+        this.jobDescription = jobDescription;
+        this.dictionary = compiled.getDictionary();
+        this.dictionaryMatcher = compiled.getMatcher();
+        this.keywordIds = keywordIds.clone();
+        this.skillIds = new BitSet(dictionary.size());
+        Set<String> names = new LinkedHashSet<>();
+        for (int skillId : keywordIds) {
+            skillIds.set(skillId);
+            names.add(dictionary.nameOf(skillId));
+        }
+        this.keywords = Collections.unmodifiableSet(names);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getJobDescription() {
+        return jobDescription;
+    }
+
+    /**
+     * The dictionary the keyword ids belong to.
+     */
+    public TechnicalDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public Set<String> getKeywords() {
+        return keywords;
+    }
+
+    public int keywordCount() {
+        return keywordIds.length;
+    }
+
+    /**
+     * Skill id of the i-th keyword, in order of first appearance in the JD.
+     */
+    public int keywordId(int index) {
+        return keywordIds[index];
+    }
+
+    /**
+     * Copy of the keyword ids as a bitset, safe for the caller to modify.
+     */
+    public BitSet getSkillIds() {
+        return (BitSet) skillIds.clone();
+    }
+
+    /**
+     * Automaton for the whole dictionary the profile was compiled with.
+     */
+    public SkillMatcher getDictionaryMatcher() {
+        return dictionaryMatcher;
+    }
+}
@@ -0,0 +1,92 @@
+package com.atschecker.analyzer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Bounded cache of compiled job profiles keyed by a digest of the normalized
+ * job description. Clients can register a JD once and analyze by its id; JDs
+ * sent inline hit the same cache, so repeated postings skip keyword extraction.
+ * A profile compiled against an older dictionary is recompiled on its next use.
+ */
+@Component
+public class JobProfileRegistry implements MeterBinder {
+
+    private final KeywordAnalyzer keywordAnalyzer;
+    private final Cache<String, JobProfile> profiles;
+    private final Timer extractTimer;
+
+    public JobProfileRegistry(KeywordAnalyzer keywordAnalyzer, MeterRegistry meterRegistry,
+            @Value("${ats.job-profiles.max-entries:1000}") long maxEntries) {
+        this.keywordAnalyzer = keywordAnalyzer;
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        this.extractTimer = Timer.builder("ats.extract")
+                .description("Keyword extraction and automaton compilation for a job description")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, profiles, "job-profiles");
+    }
+
+    /**
+     * Returns the profile for the job description, compiling it on first use.
+     */
+    public JobProfile profileFor(String jobDescription) {
+        String normalized = normalize(jobDescription);
+        JobProfile profile = profiles.get(idOf(normalized), id -> compile(id, normalized));
+        return current(profile);
+    }
+
+    /**
+     * Returns a previously registered profile, or null if it is unknown or was evicted.
+     */
+    public JobProfile find(String id) {
+        JobProfile profile = profiles.getIfPresent(id);
+        return profile == null ? null : current(profile);
+    }
+
+    private JobProfile current(JobProfile profile) {
+        String version = keywordAnalyzer.dictionary().getVersion();
+        if (profile.getDictionary().getVersion().equals(version))
+            return profile;
+
+        JobProfile recompiled = compile(profile.getId(), profile.getJobDescription());
+        profiles.put(recompiled.getId(), recompiled);
+        return recompiled;
+    }
+
+    private JobProfile compile(String id, String normalized) {
+        return extractTimer.record(() -> keywordAnalyzer.compileProfile(id, normalized));
+    }
+
+    static String normalize(String jobDescription) {
+        return jobDescription == null ? "" : jobDescription.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String idOf(String normalized) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            // 128 bits is plenty to keep postings apart
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
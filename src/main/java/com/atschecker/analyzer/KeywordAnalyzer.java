@@ -1,95 +1,92 @@
 package com.atschecker.analyzer;
 
-import com.atschecker.util.TechnicalDictionary;
+import com.atschecker.document.ResumeDocument;
+import com.atschecker.document.SectionKind;
 import org.springframework.stereotype.Component;
 import java.util.*;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Component
 public class KeywordAnalyzer {
 
+        // Each call reads the active dictionary once and uses that snapshot throughout
+        private final DictionaryRegistry dictionaries;
+
+        public KeywordAnalyzer(DictionaryRegistry dictionaries) {
+                this.dictionaries = dictionaries;
+        }
+
         /**
          * Extracts keywords strictly based on a mandatory technical skills dictionary.
          * Normal English words are discarded even if they pass stop-word filters.
          */
         public Set<String> extractKeywords(String text) {
-                if (text == null || text.trim().isEmpty())
+                if (text == null || text.isBlank())
                         return Collections.emptySet();
 
-                String lowerText = text.toLowerCase();
-                Set<String> extracted = new LinkedHashSet<>(); // Preserve insertion order for better display
-
-                // 1. Process Multi-word phrases first (e.g., "Spring Boot", "Data Structures")
-                // This ensures "Spring Boot" is caught before single word "Spring"
-                for (Map.Entry<String, String> entry : TechnicalDictionary.SKILLS_MAP.entrySet()) {
-                        String skillKey = entry.getKey();
-                        if (skillKey.contains(" ")) {
-                                // Use regex with word boundaries for multi-word phrases too
-                                String pattern = "\\b" + Pattern.quote(skillKey) + "\\b";
-                                if (Pattern.compile(pattern).matcher(lowerText).find()) {
-                                        extracted.add(entry.getValue());
-                                }
-                        }
-                }
-
-                // 2. Clean text for single-token processing
-                // Replace everything except basic alphanumeric and technical symbols with
-                // spaces
-                String cleanText = lowerText
-                                .replaceAll("[^a-z0-9\\s#+.]", " ")
-                                .replaceAll("\\s+", " ")
-                                .trim();
-
-                String[] tokens = cleanText.split(" ");
-
-                // 3. Process tokens against the mandatory technical dictionary
-                for (String token : tokens) {
-                        String t = token.trim();
-                        if (t.isEmpty())
-                                continue;
-
-                        // Rule: Must not be in the explicitly blocked list
-                        if (TechnicalDictionary.BLOCKED.contains(t))
-                                continue;
+                // Canonical skills in order of first appearance for better display
+                return dictionaries.current().getMatcher().extract(text);
+        }
 
-                        // Rule: MUST be in the technical skills dictionary
-                        if (TechnicalDictionary.SKILLS_MAP.containsKey(t)) {
-                                extracted.add(TechnicalDictionary.SKILLS_MAP.get(t));
-                        }
-                }
+        /**
+         * Counts how often each dictionary skill occurs in the text, keyed by
+         * display name in dictionary order. Skills that don't occur are left out.
+         */
+        public Map<String, Integer> countSkills(String text) {
+                if (text == null)
+                        return new LinkedHashMap<>();
 
-                return extracted;
+                CompiledDictionary dictionary = dictionaries.current();
+                return dictionary.getDictionary().countsByName(dictionary.getMatcher().countSkills(text));
         }
 
         /**
-         * Matches resumes against JD keywords using strict word boundaries.
-         * This avoids false positives like matching "Java" in "Javascript".
+         * The dictionary currently used for extraction and new profiles.
          */
-        public List<String> findMatches(String resumeText, Set<String> jdKeywords) {
-                if (resumeText == null || jdKeywords.isEmpty())
-                        return Collections.emptyList();
+        public CompiledDictionary dictionary() {
+                return dictionaries.current();
+        }
 
-                String lowerResume = resumeText.toLowerCase();
+        /**
+         * Compiles a job description into a reusable profile: its keywords as
+         * skill ids of the current dictionary. Resumes are scanned with the
+         * whole dictionary's automaton, which the document frequencies need
+         * anyway, so no per-profile automaton is built.
+         */
+        public JobProfile compileProfile(String id, String jobDescription) {
+                CompiledDictionary compiled = dictionaries.current();
+                int[] keywordIds = jobDescription == null ? new int[0]
+                                : compiled.getMatcher().findSkillsInOrder(jobDescription);
+                return new JobProfile(id, jobDescription, compiled, keywordIds);
+        }
 
-                return jdKeywords.stream()
-                                .filter(keyword -> {
-                                        String lowerKw = keyword.toLowerCase();
-                                        // Normalize the pattern with word boundaries
-                                        String pattern = "\\b" + Pattern.quote(lowerKw) + "\\b";
+        /**
+         * Counts every skill of the profile's dictionary in the resume with one
+         * scan, indexed by skill id. Scoring reads the profile's skills; the rest
+         * feed the document frequencies. Each mention counts
+         * {@link SectionKind#skillWeight()} of the section it is in.
+         */
+        public int[] countSkills(ResumeDocument resume, JobProfile profile) {
+                return countSkills(resume, profile.getDictionaryMatcher());
+        }
 
-                                        // Specifically handle technical symbols which \b might not handle as expected
-                                        if (lowerKw.endsWith("+") || lowerKw.endsWith("#") || lowerKw.contains(".")) {
-                                                return lowerResume.contains(lowerKw);
-                                        }
+        /**
+         * Counts every skill of the given dictionary in the resume, weighted by
+         * section as for a job profile.
+         */
+        public int[] countSkills(ResumeDocument resume, CompiledDictionary dictionary) {
+                return countSkills(resume, dictionary.getMatcher());
+        }
 
-                                        try {
-                                                return Pattern.compile(pattern).matcher(lowerResume).find();
-                                        } catch (Exception e) {
-                                                return lowerResume.contains(lowerKw);
-                                        }
-                                })
-                                .sorted()
-                                .collect(Collectors.toList());
+        private static int[] countSkills(ResumeDocument resume, SkillMatcher matcher) {
+                int[] counts = new int[matcher.skillCount()];
+                // Matches are reported in order of where they end, so the section only moves forward
+                int[] section = { 0 };
+                matcher.scan(resume.text(), (skillId, start, end) -> {
+                        while (section[0] + 1 < resume.sectionCount() && resume.sectionStart(section[0] + 1) < end) {
+                                section[0]++;
+                        }
+                        counts[skillId] += resume.sectionKind(section[0]).skillWeight();
+                });
+                return counts;
         }
 }
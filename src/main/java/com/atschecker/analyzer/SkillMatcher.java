@@ -0,0 +1,348 @@
+package com.atschecker.analyzer;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton compiled once from the skills dictionary.
+ * A single left-to-right scan of the text reports every dictionary entry that
+ * sits on a token boundary, so extraction cost depends on the text length and
+ * not on how many skills the dictionary holds.
+ *
+ * Boundary rules mirror the tokenizer the analyzer used before: letters,
+ * digits, '#' and '+' are part of a token, and a '.' only joins two
+ * alphanumerics (so "Node.js" is one token, while "Java." ends a sentence).
+ * Runs of whitespace in the text match a single space in a multi-word skill.
+ * A match that overlaps an earlier match of the same skill is not reported,
+ * so "React JS" is one mention of React, not one for "react" and one for the
+ * variant "react js".
+ */
+public final class SkillMatcher {
+
+    @FunctionalInterface
+    public interface MatchListener {
+        void onMatch(int skillId, int start, int end);
+    }
+
+    private static final int ROOT = 0;
+    private static final int NO_NODE = -1;
+    private static final int NO_PATTERN = -1;
+
+    // Canonical display name for each skill id (the dictionary's dense id space)
+    private final String[] skills;
+
+    // Trie edges in CSR layout: children of node n are edgeChars/edgeTargets[edgeStart[n] .. edgeStart[n + 1])
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+
+    // Dense ASCII transitions out of the root, the state we return to most often
+    private final int[] rootNext;
+
+    private final int[] fail;
+    private final int[] nodePattern;
+    private final int[] outputLink;
+
+    private final int[] patternSkill;
+    private final int[] patternLength;
+    private final int ringMask;
+
+    private SkillMatcher(String[] skills, int[] edgeStart, char[] edgeChars, int[] edgeTargets, int[] rootNext,
+            int[] fail, int[] nodePattern, int[] outputLink, int[] patternSkill, int[] patternLength,
+            int maxPatternLength) {
+        this.skills = skills;
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.rootNext = rootNext;
+        this.fail = fail;
+        this.nodePattern = nodePattern;
+        this.outputLink = outputLink;
+        this.patternSkill = patternSkill;
+        this.patternLength = patternLength;
+        this.ringMask = Integer.highestOneBit(Math.max(1, maxPatternLength) * 2 - 1) - 1;
+    }
+
+    /**
+     * Compiles the automaton from a map of lowercase lookup keys to canonical
+     * display names. Matches are reported with the skill's index in
+     * {@code skillNames}, so matchers built from a subset of the dictionary
+     * share its id space. Blocked keys and unknown skills are ignored.
+     */
+    public static SkillMatcher compile(Map<String, String> skillsMap, Set<String> blocked, List<String> skillNames) {
+        Map<String, Integer> skillIds = new HashMap<>();
+        for (int id = 0; id < skillNames.size(); id++) {
+            skillIds.put(skillNames.get(id), id);
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<Integer> keySkills = new ArrayList<>();
+        for (Map.Entry<String, String> entry : skillsMap.entrySet()) {
+            String key = normalizeKey(entry.getKey());
+            Integer id = skillIds.get(entry.getValue());
+            if (key.isEmpty() || blocked.contains(key) || id == null)
+                continue;
+            keys.add(key);
+            keySkills.add(id);
+        }
+
+        // 1. Build the plain trie
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        children.add(new TreeMap<>());
+        terminal.add(NO_PATTERN);
+
+        int[] patternSkill = new int[keys.size()];
+        int[] patternLength = new int[keys.size()];
+        int maxPatternLength = 0;
+
+        for (int p = 0; p < keys.size(); p++) {
+            String key = keys.get(p);
+            int node = ROOT;
+            for (int i = 0; i < key.length(); i++) {
+                Integer next = children.get(node).get(key.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    terminal.add(NO_PATTERN);
+                    children.get(node).put(key.charAt(i), next);
+                }
+                node = next;
+            }
+            if (terminal.get(node) == NO_PATTERN) {
+                terminal.set(node, p);
+            }
+            patternSkill[p] = keySkills.get(p);
+            patternLength[p] = key.length();
+            maxPatternLength = Math.max(maxPatternLength, key.length());
+        }
+
+        // 2. Pack edges into CSR arrays
+        int nodeCount = children.size();
+        int[] edgeStart = new int[nodeCount + 1];
+        for (int n = 0; n < nodeCount; n++) {
+            edgeStart[n + 1] = edgeStart[n] + children.get(n).size();
+        }
+        char[] edgeChars = new char[edgeStart[nodeCount]];
+        int[] edgeTargets = new int[edgeStart[nodeCount]];
+        for (int n = 0; n < nodeCount; n++) {
+            int e = edgeStart[n];
+            for (Map.Entry<Character, Integer> edge : children.get(n).entrySet()) {
+                edgeChars[e] = edge.getKey();
+                edgeTargets[e] = edge.getValue();
+                e++;
+            }
+        }
+
+        int[] rootNext = new int[128];
+        for (Map.Entry<Character, Integer> edge : children.get(ROOT).entrySet()) {
+            if (edge.getKey() < 128) {
+                rootNext[edge.getKey()] = edge.getValue();
+            }
+        }
+
+        // 3. Breadth-first pass for failure and output links
+        int[] fail = new int[nodeCount];
+        int[] nodePattern = new int[nodeCount];
+        int[] outputLink = new int[nodeCount];
+        for (int n = 0; n < nodeCount; n++) {
+            nodePattern[n] = terminal.get(n);
+        }
+        Arrays.fill(outputLink, NO_NODE);
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : children.get(ROOT).values()) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                int f = fail[node];
+                while (f != ROOT && !children.get(f).containsKey(c)) {
+                    f = fail[f];
+                }
+                Integer target = children.get(f).get(c);
+                fail[child] = target != null ? target : ROOT;
+                int suffix = fail[child];
+                outputLink[child] = nodePattern[suffix] != NO_PATTERN ? suffix : outputLink[suffix];
+                queue.add(child);
+            }
+        }
+
+        return new SkillMatcher(skillNames.toArray(new String[0]), edgeStart, edgeChars, edgeTargets,
+                rootNext, fail, nodePattern, outputLink, patternSkill, patternLength, maxPatternLength);
+    }
+
+    /**
+     * Returns the canonical skills found in the text, in order of first occurrence.
+     */
+    public Set<String> extract(CharSequence text) {
+        Set<String> found = new LinkedHashSet<>();
+        for (int skillId : findSkillsInOrder(text)) {
+            found.add(skills[skillId]);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the ids of the skills found in the text, in order of first occurrence.
+     */
+    public int[] findSkillsInOrder(CharSequence text) {
+        BitSet seen = new BitSet(skills.length);
+        int[] ids = new int[skills.length];
+        int[] found = { 0 };
+        scan(text, (skillId, start, end) -> {
+            if (!seen.get(skillId)) {
+                seen.set(skillId);
+                ids[found[0]++] = skillId;
+            }
+        });
+        return Arrays.copyOf(ids, found[0]);
+    }
+
+    /**
+     * Returns the ids of the skills found in the text.
+     */
+    public BitSet findSkills(CharSequence text) {
+        BitSet found = new BitSet(skills.length);
+        scan(text, (skillId, start, end) -> found.set(skillId));
+        return found;
+    }
+
+    /**
+     * Counts occurrences of each skill in the text, indexed by skill id.
+     */
+    public int[] countSkills(CharSequence text) {
+        int[] counts = new int[skills.length];
+        scan(text, (skillId, start, end) -> counts[skillId]++);
+        return counts;
+    }
+
+    /**
+     * Runs the automaton over the text once, reporting every bounded match with
+     * its character offsets in the original text.
+     */
+    public void scan(CharSequence text, MatchListener listener) {
+        int length = text.length();
+        // End of the last reported match per skill
+        int[] reportedEnd = new int[skills.length];
+        // Original offsets of the most recently consumed characters, enough to
+        // recover where the longest pattern started
+        int[] offsets = new int[ringMask + 1];
+        int consumed = 0;
+        int state = ROOT;
+        boolean previousSpace = true;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (previousSpace)
+                    continue;
+                previousSpace = true;
+                c = ' ';
+            } else {
+                previousSpace = false;
+                c = Character.toLowerCase(c);
+            }
+
+            offsets[consumed & ringMask] = i;
+            consumed++;
+            state = next(state, c);
+
+            int node = nodePattern[state] != NO_PATTERN ? state : outputLink[state];
+            while (node != NO_NODE) {
+                int pattern = nodePattern[node];
+                int start = offsets[(consumed - patternLength[pattern]) & ringMask];
+                int skill = patternSkill[pattern];
+                if (start >= reportedEnd[skill] && isBoundaryBefore(text, start) && isBoundaryAfter(text, i + 1)) {
+                    reportedEnd[skill] = i + 1;
+                    listener.onMatch(skill, start, i + 1);
+                }
+                node = outputLink[node];
+            }
+        }
+    }
+
+    public int skillCount() {
+        return skills.length;
+    }
+
+    /**
+     * Number of lookup keys compiled in.
+     */
+    public int patternCount() {
+        return patternSkill.length;
+    }
+
+    /**
+     * Approximate heap taken by the automaton's arrays, in bytes.
+     */
+    public long footprintBytes() {
+        long ints = edgeStart.length + edgeTargets.length + rootNext.length + fail.length + nodePattern.length
+                + outputLink.length + patternSkill.length + patternLength.length;
+        return ints * Integer.BYTES + (long) edgeChars.length * Character.BYTES + 9L * 16;
+    }
+
+    public String skillName(int skillId) {
+        return skills[skillId];
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            if (state == ROOT) {
+                return c < 128 ? rootNext[c] : child(ROOT, c);
+            }
+            int target = child(state, c);
+            if (target != NO_NODE)
+                return target;
+            state = fail[state];
+        }
+    }
+
+    private int child(int node, char c) {
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return node == ROOT ? ROOT : NO_NODE;
+    }
+
+    private static boolean isBoundaryBefore(CharSequence text, int start) {
+        if (start == 0)
+            return true;
+        char previous = text.charAt(start - 1);
+        if (isTokenChar(previous))
+            return false;
+        // "asp.net" style joins: a dot right after an alphanumeric continues the token
+        return previous != '.' || start < 2 || !Character.isLetterOrDigit(text.charAt(start - 2));
+    }
+
+    private static boolean isBoundaryAfter(CharSequence text, int end) {
+        if (end == text.length())
+            return true;
+        char next = text.charAt(end);
+        if (isTokenChar(next))
+            return false;
+        // A trailing dot is sentence punctuation unless another alphanumeric follows it
+        return next != '.' || end + 1 == text.length() || !Character.isLetterOrDigit(text.charAt(end + 1));
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '#' || c == '+';
+    }
+
+    private static String normalizeKey(String key) {
+        return key.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
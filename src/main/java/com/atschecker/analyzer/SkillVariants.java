@@ -0,0 +1,223 @@
+package com.atschecker.analyzer;
+
+import com.atschecker.util.TechnicalDictionary;
+
+import java.util.*;
+
+/**
+ * Spellings of every skill beyond the ones the dictionary lists, derived once
+ * when the dictionary is loaded and compiled into the same automaton as the
+ * listed keys. Matching a variant costs nothing extra at request time; there
+ * is no edit-distance check on the resume.
+ *
+ * From each lookup key it derives:
+ * <ul>
+ * <li>separator variants: "spring boot" as "spring-boot", "spring.boot" and
+ * "springboot", with camel-case names split into words first
+ * ("TensorFlow" as "tensor flow");</li>
+ * <li>"js" suffixes: "express js", "express.js", "expressjs" and so on for
+ * single-word skills, and every separator form of keys that already end in
+ * one ("NodeJS" as "node.js");</li>
+ * <li>typos one edit away in single-word keys of six or more letters: a
+ * letter dropped, doubled or swapped with its neighbour, leaving the first
+ * and last letter alone ("kuberentes", "postgressql").</li>
+ * </ul>
+ *
+ * Listed keys always win. A variant derived from two different skills is
+ * dropped, and so is one listed under [blocked], which is how a typo that
+ * spells a common word ("grade" from "gradle") is switched off. A key that is
+ * itself blocked gets no variants.
+ */
+public final class SkillVariants {
+
+    private static final String[] SEPARATORS = { " ", "-", ".", "" };
+    // Keys split into more parts only get their listed form
+    private static final int MAX_SEPARATED_PARTS = 4;
+    private static final int CAMEL_PART_MIN_LENGTH = 3;
+    private static final int SUFFIX_MIN_LENGTH = 3;
+    private static final int TYPO_MIN_LENGTH = 6;
+    private static final String JS = "js";
+
+    // Lookup key to display name: the dictionary's keys first, then the variants
+    private final Map<String, String> keys;
+    private final int variantCount;
+    private final long buildNanos;
+
+    private SkillVariants(Map<String, String> keys, int variantCount, long buildNanos) {
+        this.keys = Collections.unmodifiableMap(keys);
+        this.variantCount = variantCount;
+        this.buildNanos = buildNanos;
+    }
+
+    public static SkillVariants build(TechnicalDictionary dictionary) {
+        long started = System.nanoTime();
+        Map<String, String> listed = dictionary.getSkillsMap();
+        Set<String> blocked = dictionary.getBlocked();
+
+        Map<String, String> derived = new LinkedHashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        Set<String> forms = new LinkedHashSet<>();
+        for (Map.Entry<String, String> entry : listed.entrySet()) {
+            String key = entry.getKey();
+            String skill = entry.getValue();
+            // A blocked key never matches, so nothing spelled like it should either
+            if (blocked.contains(key))
+                continue;
+            forms.clear();
+            variantsOf(key, key.equals(skill.toLowerCase(Locale.ROOT)) ? skill : key, forms);
+            for (String form : forms) {
+                if (listed.containsKey(form) || blocked.contains(form))
+                    continue;
+                String previous = derived.putIfAbsent(form, skill);
+                if (previous != null && !previous.equals(skill)) {
+                    ambiguous.add(form);
+                }
+            }
+        }
+        derived.keySet().removeAll(ambiguous);
+
+        Map<String, String> keys = new LinkedHashMap<>(listed);
+        keys.putAll(derived);
+        return new SkillVariants(keys, derived.size(), System.nanoTime() - started);
+    }
+
+    /**
+     * Every lookup key, listed and derived, to the display name of its skill.
+     */
+    public Map<String, String> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Keys derived here, on top of the dictionary's own.
+     */
+    public int getVariantCount() {
+        return variantCount;
+    }
+
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    // Adds the variants of a lowercase key; cased is the key with its display casing, if known
+    private static void variantsOf(String key, String cased, Set<String> forms) {
+        String normalized = key.trim().replaceAll("\\s+", " ");
+        List<String> spellings = new ArrayList<>();
+        spellings.add(normalized);
+
+        String camel = splitCamelCase(cased.trim());
+        if (camel != null) {
+            spellings.add(camel);
+        }
+
+        boolean word = isLetters(normalized);
+        boolean suffixed = normalized.length() > JS.length() && normalized.endsWith(JS)
+                && Character.isLetter(normalized.charAt(normalized.length() - JS.length() - 1));
+        if (suffixed) {
+            // "nodejs" is "node" plus the suffix
+            spellings.add(normalized.substring(0, normalized.length() - JS.length()) + " " + JS);
+        } else if (word && normalized.length() >= SUFFIX_MIN_LENGTH) {
+            spellings.add(normalized + " " + JS);
+        }
+
+        for (String spelling : spellings) {
+            addSeparatorVariants(spelling, forms);
+        }
+        // A typo in a suffixed key is as likely a different word ("nodes" from "nodejs")
+        if (word && !suffixed && normalized.length() >= TYPO_MIN_LENGTH) {
+            addTypos(normalized, forms);
+        }
+    }
+
+    // "spring boot" joined with each separator at each gap: "spring-boot", "springboot", ...
+    private static void addSeparatorVariants(String spelling, Set<String> forms) {
+        forms.add(spelling);
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < spelling.length(); i++) {
+            if (isSeparatorAt(spelling, i)) {
+                parts.add(spelling.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(spelling.substring(start));
+        if (parts.size() < 2 || parts.size() > MAX_SEPARATED_PARTS)
+            return;
+
+        int gaps = parts.size() - 1;
+        int combinations = (int) Math.pow(SEPARATORS.length, gaps);
+        StringBuilder form = new StringBuilder();
+        for (int combination = 0; combination < combinations; combination++) {
+            form.setLength(0);
+            form.append(parts.get(0));
+            for (int gap = 0, rest = combination; gap < gaps; gap++, rest /= SEPARATORS.length) {
+                form.append(SEPARATORS[rest % SEPARATORS.length]).append(parts.get(gap + 1));
+            }
+            forms.add(form.toString());
+        }
+    }
+
+    // A space, '-', '.', '/' or '_' between two alphanumerics
+    private static boolean isSeparatorAt(String spelling, int i) {
+        char c = spelling.charAt(i);
+        return (c == ' ' || c == '-' || c == '.' || c == '/' || c == '_')
+                && i > 0 && i + 1 < spelling.length()
+                && Character.isLetterOrDigit(spelling.charAt(i - 1))
+                && Character.isLetterOrDigit(spelling.charAt(i + 1));
+    }
+
+    // "TensorFlow" as "tensor flow"; null unless it has several parts, each long enough to stand alone
+    private static String splitCamelCase(String name) {
+        if (!isLetters(name))
+            return null;
+        StringBuilder split = new StringBuilder();
+        int partStart = 0;
+        int parts = 0;
+        for (int i = 1; i <= name.length(); i++) {
+            if (i == name.length() || (Character.isLowerCase(name.charAt(i - 1))
+                    && Character.isUpperCase(name.charAt(i)))) {
+                if (i - partStart < CAMEL_PART_MIN_LENGTH)
+                    return null;
+                if (parts++ > 0)
+                    split.append(' ');
+                split.append(name, partStart, i);
+                partStart = i;
+            }
+        }
+        return parts < 2 ? null : split.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static void addTypos(String word, Set<String> forms) {
+        int last = word.length() - 1;
+        StringBuilder typo = new StringBuilder();
+        for (int i = 1; i < last; i++) {
+            // Dropped
+            typo.setLength(0);
+            typo.append(word, 0, i).append(word, i + 1, word.length());
+            forms.add(typo.toString());
+
+            // Doubled
+            typo.setLength(0);
+            typo.append(word, 0, i + 1).append(word.charAt(i)).append(word, i + 1, word.length());
+            forms.add(typo.toString());
+
+            // Swapped with the next letter
+            if (i + 1 < last && word.charAt(i) != word.charAt(i + 1)) {
+                typo.setLength(0);
+                typo.append(word, 0, i).append(word.charAt(i + 1)).append(word.charAt(i))
+                        .append(word, i + 2, word.length());
+                forms.add(typo.toString());
+            }
+        }
+    }
+
+    private static boolean isLetters(String text) {
+        if (text.isEmpty())
+            return false;
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isLetter(text.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+}
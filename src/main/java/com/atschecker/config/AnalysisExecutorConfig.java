@@ -0,0 +1,42 @@
+package com.atschecker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class AnalysisExecutorConfig {
+
+    /**
+     * Worker pool for parsing and scoring batch items.
+     *
+     * With spring.threads.virtual.enabled=true (which also moves Tomcat request
+     * handling onto virtual threads) every item gets its own virtual thread and
+     * CPU-bound parsing is limited by ResumeParser's permits instead.
+     * Otherwise this is a bounded platform pool sized to the number of cores;
+     * when its queue is full the submitting thread runs the task itself,
+     * which throttles large batches.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService analysisExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${ats.analysis.pool-size:0}") int poolSize,
+            @Value("${ats.analysis.queue-capacity:1000}") int queueCapacity) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("analysis-", 1).factory());
+        }
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "analysis-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
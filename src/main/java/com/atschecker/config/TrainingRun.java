@@ -0,0 +1,183 @@
+package com.atschecker.config;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * With ats.training.run=true, sends a few sample resumes in each supported
+ * format through the HTTP analyze endpoints once the application is up, then
+ * shuts it down. Run under -XX:ArchiveClassesAtExit, this records the classes
+ * a real request needs in a CDS archive (see scripts/fast-start.sh).
+ */
+@Component
+public class TrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainingRun.class);
+
+    private static final String JOB_DESCRIPTION =
+            "Senior backend engineer: Java, Spring Boot, PostgreSQL, Docker, Kubernetes, AWS and REST APIs.";
+
+    private static final String[] RESUME = {
+            "Jane Doe",
+            "jane.doe@example.com | +1 555 0100",
+            "Experience",
+            "- Built REST APIs in Java and Spring Boot backed by PostgreSQL.",
+            "- Ran services on Docker and Kubernetes in AWS, cutting deploy time by 40%.",
+            "Education",
+            "B.Sc. Computer Science",
+            "Skills",
+            "Java, Spring Boot, PostgreSQL, Docker, Kubernetes, AWS, Git",
+    };
+
+    private final boolean enabled;
+    private final int rounds;
+
+    public TrainingRun(@Value("${ats.training.run:false}") boolean enabled,
+            @Value("${ats.training.rounds:5}") int rounds) {
+        this.enabled = enabled;
+        this.rounds = rounds;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!enabled)
+            return;
+
+        int status = 0;
+        try {
+            int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+            run("http://localhost:" + port + "/api/resume");
+        } catch (Exception e) {
+            log.error("Training run failed: {}", e.toString());
+            status = 1;
+        }
+        int exitCode = status;
+        System.exit(SpringApplication.exit(event.getApplicationContext(), () -> exitCode));
+    }
+
+    private void run(String baseUrl) throws IOException, InterruptedException {
+        String text = String.join("\n", RESUME) + "\n";
+        Map<String, byte[]> samples = new LinkedHashMap<>();
+        samples.put("resume.txt", text.getBytes(StandardCharsets.UTF_8));
+        samples.put("resume.pdf", pdf());
+        samples.put("resume.docx", docx());
+        // Anything else goes through full Tika
+        samples.put("resume.rtf", ("{\\rtf1\\ansi " + String.join("\\par ", RESUME) + "}")
+                .getBytes(StandardCharsets.US_ASCII));
+
+        HttpClient client = HttpClient.newHttpClient();
+        long started = System.nanoTime();
+        int requests = 0;
+        for (int round = 0; round < rounds; round++) {
+            Multipart batch = new Multipart().field("jobDescription", JOB_DESCRIPTION);
+            for (Map.Entry<String, byte[]> sample : samples.entrySet()) {
+                post(client, baseUrl + "/analyze", new Multipart()
+                        .field("jobDescription", JOB_DESCRIPTION)
+                        .file("file", sample.getKey(), sample.getValue()));
+                batch.file("files", sample.getKey(), sample.getValue());
+                requests++;
+            }
+            post(client, baseUrl + "/analyze/batch", batch);
+            requests++;
+        }
+        log.info("Training run sent {} requests in {} ms", requests, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static void post(HttpClient client, String url, Multipart body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "multipart/form-data; boundary=" + body.boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200)
+            throw new IOException(url + " returned " + response.statusCode() + ": " + response.body());
+    }
+
+    private static byte[] pdf() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 11);
+                content.setLeading(14);
+                content.newLineAtOffset(50, 740);
+                for (String line : RESUME) {
+                    content.showText(line);
+                    content.newLine();
+                }
+                content.endText();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] docx() throws IOException {
+        try (XWPFDocument document = new XWPFDocument()) {
+            for (String line : RESUME) {
+                document.createParagraph().createRun().setText(line);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static final class Multipart {
+        final String boundary = UUID.randomUUID().toString();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        Multipart field(String name, String value) {
+            part("form-data; name=\"" + name + "\"", null, value.getBytes(StandardCharsets.UTF_8));
+            return this;
+        }
+
+        Multipart file(String name, String fileName, byte[] content) {
+            part("form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"", "application/octet-stream",
+                    content);
+            return this;
+        }
+
+        private void part(String disposition, String contentType, byte[] content) {
+            StringBuilder headers = new StringBuilder("--").append(boundary).append("\r\n")
+                    .append("Content-Disposition: ").append(disposition).append("\r\n");
+            if (contentType != null) {
+                headers.append("Content-Type: ").append(contentType).append("\r\n");
+            }
+            body.writeBytes(headers.append("\r\n").toString().getBytes(StandardCharsets.UTF_8));
+            body.writeBytes(content);
+            body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] toByteArray() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() + 64);
+            out.writeBytes(body.toByteArray());
+            out.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+            return out.toByteArray();
+        }
+    }
+}
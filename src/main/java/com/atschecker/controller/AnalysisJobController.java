@@ -0,0 +1,95 @@
+package com.atschecker.controller;
+
+import com.atschecker.dto.AnalysisJobResponse;
+import com.atschecker.jobs.JobPriority;
+import com.atschecker.parser.ResumeSource;
+import com.atschecker.service.AnalysisJobService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Submit-and-poll variant of /api/resume/analyze: the upload is queued and
+ * answered with a job id straight away, and the result is fetched later or
+ * pushed over Server-Sent Events.
+ */
+@RestController
+@RequestMapping("/api/analysis-jobs")
+@CrossOrigin(origins = "*")
+public class AnalysisJobController {
+
+    private final AnalysisJobService jobService;
+    private final DataSize maxResumeSize;
+
+    public AnalysisJobController(AnalysisJobService jobService,
+            @Value("${ats.resume.max-size:20MB}") DataSize maxResumeSize) {
+        this.jobService = jobService;
+        this.maxResumeSize = maxResumeSize;
+    }
+
+    /**
+     * Queues a resume. Answers 202 with the new job, or 200 with the existing
+     * one when the same resume and job description were submitted before.
+     */
+    @PostMapping
+    public ResponseEntity<AnalysisJobResponse> submit(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("jobDescription") String jobDescription,
+            @RequestParam(value = "priority", defaultValue = "NORMAL") JobPriority priority) throws IOException {
+
+        if (file.isEmpty() || jobDescription.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (file.getSize() > maxResumeSize.toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        AnalysisJobResponse job = jobService.submit(ResumeSource.of(file), jobDescription, priority);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.status(job.isDuplicate() ? HttpStatus.OK : HttpStatus.ACCEPTED)
+                .location(location)
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AnalysisJobResponse> get(@PathVariable String id) {
+        AnalysisJobResponse job = jobService.find(id);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Streams the job's state as "status" events, starting with the current
+     * one, and closes the stream once the job has finished.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@PathVariable String id) {
+        SseEmitter emitter = new SseEmitter();
+        Runnable unsubscribe = jobService.subscribe(id, job -> {
+            try {
+                emitter.send(SseEmitter.event().name("status").data(job, MediaType.APPLICATION_JSON));
+                if (job.getStatus().isFinished()) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away
+                emitter.completeWithError(e);
+            }
+        });
+        if (unsubscribe == null) {
+            return ResponseEntity.notFound().build();
+        }
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return ResponseEntity.ok(emitter);
+    }
+}
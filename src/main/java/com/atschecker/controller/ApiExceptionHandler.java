@@ -0,0 +1,48 @@
+package com.atschecker.controller;
+
+import com.atschecker.dto.ErrorResponse;
+import com.atschecker.parser.ParseTimeoutException;
+import com.atschecker.parser.ParserBusyException;
+import com.atschecker.parser.ResumeParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+/**
+ * Maps parsing failures to responses the client can act on instead of a bare 500.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    @ExceptionHandler(ParserBusyException.class)
+    public ResponseEntity<ErrorResponse> parserBusy(ParserBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(new ErrorResponse("parser_busy", e.getMessage()));
+    }
+
+    @ExceptionHandler(ParseTimeoutException.class)
+    public ResponseEntity<ErrorResponse> parseTimeout(ParseTimeoutException e) {
+        return ResponseEntity.unprocessableEntity().body(new ErrorResponse("parse_timeout", e.getMessage()));
+    }
+
+    @ExceptionHandler(ResumeParseException.class)
+    public ResponseEntity<ErrorResponse> unparseable(ResumeParseException e) {
+        return ResponseEntity.unprocessableEntity().body(new ErrorResponse("unparseable_resume", e.getMessage()));
+    }
+
+    @ExceptionHandler(IOException.class)
+    public ResponseEntity<ErrorResponse> ioFailure(IOException e) {
+        log.warn("Request failed: {}", e.getMessage());
+        return ResponseEntity.internalServerError()
+                .body(new ErrorResponse("io_error", "The upload could not be read. Please try again."));
+    }
+}
@@ -0,0 +1,56 @@
+package com.atschecker.controller;
+
+import com.atschecker.analyzer.CompiledDictionary;
+import com.atschecker.analyzer.DictionaryRegistry;
+import com.atschecker.dto.DictionaryResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Reports the active skills dictionary and triggers a reload of the external
+ * dictionary file when file watching is turned off.
+ */
+@RestController
+@RequestMapping("/api/dictionary")
+@CrossOrigin(origins = "*")
+public class DictionaryController {
+
+    private final DictionaryRegistry dictionaries;
+
+    public DictionaryController(DictionaryRegistry dictionaries) {
+        this.dictionaries = dictionaries;
+    }
+
+    @GetMapping
+    public ResponseEntity<DictionaryResponse> current() {
+        return ResponseEntity.ok(toResponse(dictionaries.current()));
+    }
+
+    /**
+     * Skill names in id order, for resolving the skill ids of compact
+     * responses. The ETag is the dictionary version the ids belong to.
+     */
+    @GetMapping("/skills")
+    public ResponseEntity<List<String>> skills() {
+        CompiledDictionary dictionary = dictionaries.current();
+        return ResponseEntity.ok()
+                .eTag(dictionary.getVersion())
+                .body(dictionary.getDictionary().getSkillNames());
+    }
+
+    @PostMapping("/reload")
+    public ResponseEntity<DictionaryResponse> reload() {
+        return ResponseEntity.ok(toResponse(dictionaries.reload()));
+    }
+
+    private static DictionaryResponse toResponse(CompiledDictionary dictionary) {
+        DictionaryResponse response = new DictionaryResponse(dictionary.getVersion(),
+                dictionary.getDictionary().size(), dictionary.getDictionary().getSkillsMap().size());
+        response.setVariantCount(dictionary.getVariants().getVariantCount());
+        response.setVariantBuildMillis(dictionary.getVariants().getBuildNanos() / 1e6);
+        response.setMatcherBytes(dictionary.getMatcher().footprintBytes());
+        return response;
+    }
+}
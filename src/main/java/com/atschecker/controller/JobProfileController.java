@@ -0,0 +1,83 @@
+package com.atschecker.controller;
+
+import com.atschecker.analyzer.JobProfile;
+import com.atschecker.analyzer.JobProfileRegistry;
+import com.atschecker.dto.AnalysisResponse;
+import com.atschecker.dto.JobProfileResponse;
+import com.atschecker.dto.ResponseField;
+import com.atschecker.service.AnalysisService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
+
+/**
+ * Register a job description once, then analyze resumes against its id.
+ * Profiles live in a bounded cache; a 404 means it was evicted and should be
+ * registered again.
+ */
+@RestController
+@RequestMapping("/api/job-profiles")
+@CrossOrigin(origins = "*")
+public class JobProfileController {
+
+    private final JobProfileRegistry jobProfiles;
+    private final AnalysisService analysisService;
+    private final DataSize maxResumeSize;
+
+    public JobProfileController(JobProfileRegistry jobProfiles, AnalysisService analysisService,
+            @Value("${ats.resume.max-size:20MB}") DataSize maxResumeSize) {
+        this.jobProfiles = jobProfiles;
+        this.analysisService = analysisService;
+        this.maxResumeSize = maxResumeSize;
+    }
+
+    @PostMapping
+    public ResponseEntity<JobProfileResponse> register(@RequestParam("jobDescription") String jobDescription) {
+        if (jobDescription.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(toResponse(jobProfiles.profileFor(jobDescription)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobProfileResponse> get(@PathVariable("id") String id) {
+        JobProfile profile = jobProfiles.find(id);
+        if (profile == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(toResponse(profile));
+    }
+
+    @PostMapping("/{id}/analyze")
+    public ResponseEntity<AnalysisResponse> analyze(@PathVariable("id") String id,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws IOException {
+        JobProfile profile = jobProfiles.find(id);
+        if (profile == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Set<ResponseField> selected = ResponseFields.select(fields, accept);
+        if (file.isEmpty() || selected == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (file.getSize() > maxResumeSize.toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        return ResponseEntity.ok(analysisService.analyze(file, profile, selected));
+    }
+
+    private static JobProfileResponse toResponse(JobProfile profile) {
+        JobProfileResponse response = new JobProfileResponse(profile.getId(), new ArrayList<>(profile.getKeywords()));
+        response.setDictionaryVersion(profile.getDictionary().getVersion());
+        return response;
+    }
+}
@@ -0,0 +1,53 @@
+package com.atschecker.controller;
+
+import com.atschecker.dto.ResponseField;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Works out which {@link ResponseField}s an analyze request wants: the
+ * {@code fields} parameter if given, otherwise the compact set when the
+ * client prefers CBOR over JSON and the full set when it doesn't.
+ */
+final class ResponseFields {
+
+    private ResponseFields() {
+    }
+
+    // Null if fields names something unknown
+    static Set<ResponseField> select(String fields, String accept) {
+        try {
+            return ResponseField.parse(fields, prefersCbor(accept) ? ResponseField.COMPACT : ResponseField.FULL);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Highest quality first; between equal qualities the first listed decides,
+    // as Spring's negotiation would
+    private static boolean prefersCbor(String accept) {
+        if (accept == null || !accept.contains(MediaType.APPLICATION_CBOR_VALUE))
+            return false;
+        List<MediaType> types;
+        try {
+            types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : types) {
+            if (type.getQualityValue() == 0)
+                break;
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR) && !type.isWildcardSubtype())
+                return true;
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON))
+                return false;
+        }
+        return false;
+    }
+}
@@ -1,22 +1,50 @@
 package com.atschecker.controller;
 
 import com.atschecker.dto.AnalysisResponse;
+import com.atschecker.dto.BatchAnalysisResponse;
+import com.atschecker.dto.ResponseField;
+import com.atschecker.parser.ResumeBatch;
 import com.atschecker.service.AnalysisService;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/resume")
 @CrossOrigin(origins = "*") // For local development with React
 public class ResumeController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final byte[] SSE_PREFIX = "event: result\ndata: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SSE_SUFFIX = "\n\n".getBytes(StandardCharsets.UTF_8);
+
     private final AnalysisService analysisService;
+    private final ObjectMapper objectMapper;
+    private final DataSize maxResumeSize;
+    private final int maxBatchFiles;
+    private final DataSize spoolThreshold;
 
-    public ResumeController(AnalysisService analysisService) {
+    public ResumeController(AnalysisService analysisService, ObjectMapper objectMapper,
+            @Value("${ats.resume.max-size:20MB}") DataSize maxResumeSize,
+            @Value("${ats.batch.max-files:500}") int maxBatchFiles,
+            @Value("${spring.servlet.multipart.file-size-threshold:256KB}") DataSize spoolThreshold) {
         this.analysisService = analysisService;
+        this.objectMapper = objectMapper;
+        this.maxResumeSize = maxResumeSize;
+        this.maxBatchFiles = maxBatchFiles;
+        this.spoolThreshold = spoolThreshold;
     }
 
     @GetMapping("/health")
@@ -27,17 +55,118 @@ public class ResumeController {
     @PostMapping("/analyze")
     public ResponseEntity<AnalysisResponse> analyze(
             @RequestParam("file") MultipartFile file,
-            @RequestParam("jobDescription") String jobDescription) {
+            @RequestParam("jobDescription") String jobDescription,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws IOException {
 
-        if (file.isEmpty()) {
+        Set<ResponseField> selected = ResponseFields.select(fields, accept);
+        if (file.isEmpty() || selected == null) {
             return ResponseEntity.badRequest().build();
         }
+        // The multipart limit is sized for batch archives, so cap single resumes here
+        if (file.getSize() > maxResumeSize.toBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        // Parse failures, timeouts and a full parse queue are mapped by ApiExceptionHandler
+        AnalysisResponse response = analysisService.analyze(file, jobDescription, selected);
+        return ResponseEntity.ok(response);
+    }
 
+    /**
+     * Scores one job description against many resumes, sent either as repeated
+     * "files" parts or as a single ZIP "archive".
+     */
+    @PostMapping("/analyze/batch")
+    public ResponseEntity<BatchAnalysisResponse> analyzeBatch(
+            @RequestParam(value = "files", required = false) List<MultipartFile> files,
+            @RequestParam(value = "archive", required = false) MultipartFile archive,
+            @RequestParam("jobDescription") String jobDescription,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws IOException {
+
+        Set<ResponseField> selected = ResponseFields.select(fields, accept);
+        if (selected == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try (ResumeBatch batch = openBatch(files, archive)) {
+            if (batch == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(analysisService.analyzeBatch(batch.resumes(), jobDescription, selected));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streaming variant of the batch endpoint: each result is written as soon as
+     * it is scored, as newline-delimited JSON or, when the client accepts
+     * text/event-stream, as Server-Sent Events.
+     */
+    @PostMapping(value = "/analyze/stream", produces = { NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    public ResponseEntity<StreamingResponseBody> analyzeStream(
+            @RequestParam(value = "files", required = false) List<MultipartFile> files,
+            @RequestParam(value = "archive", required = false) MultipartFile archive,
+            @RequestParam("jobDescription") String jobDescription,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws IOException {
+
+        // Always JSON, so the full set unless fields are given
+        Set<ResponseField> selected = ResponseFields.select(fields, null);
+        if (selected == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        ResumeBatch batch;
         try {
-            AnalysisResponse response = analysisService.analyze(file, jobDescription);
-            return ResponseEntity.ok(response);
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
+            batch = openBatch(files, archive);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (batch == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (batch.resumes().size() > maxBatchFiles) {
+            batch.close();
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean sse = accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        StreamingResponseBody body = out -> {
+            try (batch) {
+                analysisService.streamBatch(batch.resumes(), jobDescription, selected, result -> {
+                    byte[] json = objectMapper.writeValueAsBytes(result);
+                    if (sse) {
+                        out.write(SSE_PREFIX);
+                        out.write(json);
+                        out.write(SSE_SUFFIX);
+                    } else {
+                        out.write(json);
+                        out.write('\n');
+                    }
+                    // Blocks while the client is slow, which in turn holds back the workers
+                    out.flush();
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(sse ? MediaType.TEXT_EVENT_STREAM : MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
+    // Null when the request has neither or both of "files" and "archive"
+    private ResumeBatch openBatch(List<MultipartFile> files, MultipartFile archive) throws IOException {
+        boolean hasFiles = files != null && !files.isEmpty();
+        boolean hasArchive = archive != null && !archive.isEmpty();
+        if (hasFiles == hasArchive) {
+            return null;
+        }
+        if (hasFiles) {
+            return ResumeBatch.fromFiles(files);
+        }
+        try (InputStream stream = archive.getInputStream()) {
+            return ResumeBatch.fromArchive(stream, maxBatchFiles, maxResumeSize.toBytes(), spoolThreshold.toBytes());
         }
     }
 }
@@ -0,0 +1,67 @@
+package com.atschecker.controller;
+
+import com.atschecker.dto.TalentPoolEntry;
+import com.atschecker.dto.TalentSearchResponse;
+import com.atschecker.parser.ResumeSource;
+import com.atschecker.service.TalentPoolService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stored, indexed resumes that can be ranked against new job descriptions
+ * without re-uploading them.
+ */
+@RestController
+@RequestMapping("/api/talent-pool")
+@CrossOrigin(origins = "*")
+public class TalentPoolController {
+
+    private static final int MAX_TOP_K = 500;
+
+    private final TalentPoolService talentPoolService;
+    private final DataSize maxResumeSize;
+
+    public TalentPoolController(TalentPoolService talentPoolService,
+            @Value("${ats.resume.max-size:20MB}") DataSize maxResumeSize) {
+        this.talentPoolService = talentPoolService;
+        this.maxResumeSize = maxResumeSize;
+    }
+
+    @PostMapping("/resumes")
+    public ResponseEntity<List<TalentPoolEntry>> add(@RequestParam("files") List<MultipartFile> files) {
+        if (files.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<TalentPoolEntry> entries = new ArrayList<>();
+        for (MultipartFile file : files) {
+            if (file.getSize() > maxResumeSize.toBytes()) {
+                entries.add(new TalentPoolEntry(null, file.getOriginalFilename(), null,
+                        "File exceeds the " + maxResumeSize + " size limit."));
+                continue;
+            }
+            try {
+                entries.add(talentPoolService.add(ResumeSource.of(file)));
+            } catch (IOException e) {
+                entries.add(new TalentPoolEntry(null, file.getOriginalFilename(), null, e.getMessage()));
+            }
+        }
+        return ResponseEntity.ok(entries);
+    }
+
+    @PostMapping("/search")
+    public ResponseEntity<TalentSearchResponse> search(
+            @RequestParam("jobDescription") String jobDescription,
+            @RequestParam(value = "topK", defaultValue = "20") int topK) {
+        if (topK < 1 || topK > MAX_TOP_K) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(talentPoolService.search(jobDescription, topK));
+    }
+}
@@ -0,0 +1,148 @@
+package com.atschecker.document;
+
+/**
+ * A parsed resume split into sections by {@link ResumeSegmenter}.
+ *
+ * Nothing is copied out of the parsed text: sections are [start, end) spans
+ * of it, and tokens (runs of letters and digits) are offset pairs in one
+ * table for the whole document. Section {@code s} owns tokens
+ * {@code firstToken(s)} up to {@code firstToken(s + 1)}; the first of them
+ * may belong to its header. Section 0 is whatever precedes the first header
+ * and may be empty.
+ */
+public final class ResumeDocument {
+
+    private final CharSequence text;
+
+    private final int[] tokenStarts;
+    private final int[] tokenEnds;
+    private final int tokenCount;
+
+    private final SectionKind[] sectionKinds;
+    private final int[] sectionStarts;
+    private final int[] bodyStarts;
+    // One entry per section plus a final one holding tokenCount
+    private final int[] sectionTokens;
+    private final int[] bodyTokens;
+    private final int sectionCount;
+
+    private final int symbolCount;
+    private final int lineCount;
+
+    ResumeDocument(CharSequence text, int[] tokenStarts, int[] tokenEnds, int tokenCount,
+            SectionKind[] sectionKinds, int[] sectionStarts, int[] bodyStarts, int[] sectionTokens,
+            int[] bodyTokens, int sectionCount, int symbolCount, int lineCount) {
+        this.text = text;
+        this.tokenStarts = tokenStarts;
+        this.tokenEnds = tokenEnds;
+        this.tokenCount = tokenCount;
+        this.sectionKinds = sectionKinds;
+        this.sectionStarts = sectionStarts;
+        this.bodyStarts = bodyStarts;
+        this.sectionTokens = sectionTokens;
+        this.bodyTokens = bodyTokens;
+        this.sectionCount = sectionCount;
+        this.symbolCount = symbolCount;
+        this.lineCount = lineCount;
+    }
+
+    /**
+     * The parsed text every offset refers to.
+     */
+    public CharSequence text() {
+        return text;
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * Characters that are neither letters, digits nor whitespace.
+     */
+    public int symbolCount() {
+        return symbolCount;
+    }
+
+    /**
+     * Lines up to the last one with content; trailing blank lines are not counted.
+     */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    public int tokenCount() {
+        return tokenCount;
+    }
+
+    public int tokenStart(int token) {
+        return tokenStarts[token];
+    }
+
+    public int tokenEnd(int token) {
+        return tokenEnds[token];
+    }
+
+    public int sectionCount() {
+        return sectionCount;
+    }
+
+    public SectionKind sectionKind(int section) {
+        return sectionKinds[section];
+    }
+
+    /**
+     * Offset of the section's header line.
+     */
+    public int sectionStart(int section) {
+        return sectionStarts[section];
+    }
+
+    public int sectionEnd(int section) {
+        return section + 1 < sectionCount ? sectionStarts[section + 1] : text.length();
+    }
+
+    /**
+     * Offset just past the header: the next line, or the text after the colon
+     * of a label such as "Skills: Java, Go".
+     */
+    public int bodyStart(int section) {
+        return bodyStarts[section];
+    }
+
+    public int firstToken(int section) {
+        return sectionTokens[section];
+    }
+
+    /**
+     * First token after the header; equal to {@code endToken} when the
+     * section has a header and nothing under it.
+     */
+    public int firstBodyToken(int section) {
+        return bodyTokens[section];
+    }
+
+    /**
+     * One past the section's last token.
+     */
+    public int endToken(int section) {
+        return sectionTokens[section + 1];
+    }
+
+    /**
+     * The section containing the character at {@code offset}.
+     */
+    public int sectionAt(int offset) {
+        int low = 0;
+        int high = sectionCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (sectionStarts[middle] <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,182 @@
+package com.atschecker.document;
+
+import java.util.Arrays;
+
+/**
+ * Splits parsed resume text into sections and tokens in a single pass, so
+ * the scorer and the matcher share one {@link ResumeDocument} instead of
+ * each walking the text.
+ *
+ * A header is a short line (a few words) containing a section keyword, or a
+ * longer line led by a keyword label such as "Skills: Java, Go". A section
+ * runs from its header to the next one. Keywords in running text don't start
+ * a section.
+ */
+public final class ResumeSegmenter {
+
+    private static final int HEADER_MAX_WORDS = 4;
+    private static final int HEADER_MAX_LENGTH = 40;
+
+    private static final char[][] KEYWORDS = {
+            "experience".toCharArray(), "employment".toCharArray(),
+            "education".toCharArray(), "academic".toCharArray(),
+            "skills".toCharArray(),
+            "projects".toCharArray(),
+            "contact".toCharArray(), "email".toCharArray(), "phone".toCharArray(),
+            "summary".toCharArray(), "objective".toCharArray(),
+            "certifications".toCharArray(), "certificates".toCharArray() };
+    private static final SectionKind[] KEYWORD_KINDS = {
+            SectionKind.EXPERIENCE, SectionKind.EXPERIENCE,
+            SectionKind.EDUCATION, SectionKind.EDUCATION,
+            SectionKind.SKILLS,
+            SectionKind.PROJECTS,
+            SectionKind.CONTACT, SectionKind.CONTACT, SectionKind.CONTACT,
+            SectionKind.SUMMARY, SectionKind.SUMMARY,
+            SectionKind.CERTIFICATIONS, SectionKind.CERTIFICATIONS };
+
+    private final CharSequence text;
+
+    private int[] tokenStarts;
+    private int[] tokenEnds;
+    private int tokenCount;
+
+    private SectionKind[] sectionKinds = new SectionKind[8];
+    private int[] sectionStarts = new int[8];
+    private int[] bodyStarts = new int[8];
+    private int[] sectionTokens = new int[9];
+    private int[] bodyTokens = new int[8];
+    private int sectionCount;
+
+    private ResumeSegmenter(CharSequence text) {
+        this.text = text;
+        // About one token per six characters of English text
+        int capacity = text.length() / 6 + 16;
+        this.tokenStarts = new int[capacity];
+        this.tokenEnds = new int[capacity];
+        // Whatever precedes the first header
+        sectionKinds[0] = SectionKind.OTHER;
+        sectionCount = 1;
+    }
+
+    public static ResumeDocument segment(CharSequence text) {
+        return new ResumeSegmenter(text).run();
+    }
+
+    private ResumeDocument run() {
+        int length = text.length();
+        int symbols = 0;
+        int lineBreaks = 0;
+        // Line breaks before the last non-break character, for a split("\n")-style line count
+        int lineBreaksBeforeContent = -1;
+        int wordStart = -1;
+        int lineStart = 0;
+        int lineFirstToken = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (wordStart < 0)
+                    wordStart = i;
+                lineBreaksBeforeContent = lineBreaks;
+                continue;
+            }
+            if (wordStart >= 0) {
+                addToken(wordStart, i);
+                wordStart = -1;
+            }
+            if (c == '\n') {
+                endLine(lineStart, i, lineFirstToken);
+                lineStart = i + 1;
+                lineFirstToken = tokenCount;
+                lineBreaks++;
+                continue;
+            }
+            lineBreaksBeforeContent = lineBreaks;
+            if (!Character.isWhitespace(c))
+                symbols++;
+        }
+
+        if (wordStart >= 0)
+            addToken(wordStart, length);
+        if (lineStart < length)
+            endLine(lineStart, length, lineFirstToken);
+        sectionTokens[sectionCount] = tokenCount;
+
+        int lineCount = length == 0 ? 1 : lineBreaksBeforeContent + 1;
+        return new ResumeDocument(text, tokenStarts, tokenEnds, tokenCount, sectionKinds, sectionStarts,
+                bodyStarts, sectionTokens, bodyTokens, sectionCount, symbols, lineCount);
+    }
+
+    private void addToken(int start, int end) {
+        if (tokenCount == tokenStarts.length) {
+            tokenStarts = Arrays.copyOf(tokenStarts, tokenCount * 2);
+            tokenEnds = Arrays.copyOf(tokenEnds, tokenCount * 2);
+        }
+        tokenStarts[tokenCount] = start;
+        tokenEnds[tokenCount] = end;
+        tokenCount++;
+    }
+
+    // Opens a section if the line [lineStart, lineEnd), whose tokens start at firstToken, is a header
+    private void endLine(int lineStart, int lineEnd, int firstToken) {
+        int words = tokenCount - firstToken;
+        if (words == 0)
+            return;
+
+        int labelEnd = tokenEnds[firstToken];
+        if (labelEnd < lineEnd && text.charAt(labelEnd) == ':') {
+            SectionKind kind = kindOf(tokenStarts[firstToken], labelEnd);
+            if (kind != null) {
+                openSection(kind, lineStart, labelEnd + 1, firstToken, firstToken + 1);
+                return;
+            }
+        }
+        if (words <= HEADER_MAX_WORDS && lineEnd - lineStart <= HEADER_MAX_LENGTH) {
+            for (int t = firstToken; t < tokenCount; t++) {
+                SectionKind kind = kindOf(tokenStarts[t], tokenEnds[t]);
+                if (kind != null) {
+                    // The body starts on the next line, past the line break
+                    openSection(kind, lineStart, Math.min(lineEnd + 1, text.length()), firstToken, tokenCount);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void openSection(SectionKind kind, int start, int bodyStart, int firstToken, int bodyToken) {
+        int section = sectionCount;
+        // A header at the very top replaces the empty section before it
+        if (sectionTokens[section - 1] == firstToken) {
+            section--;
+        } else if (section == sectionKinds.length) {
+            sectionKinds = Arrays.copyOf(sectionKinds, section * 2);
+            sectionStarts = Arrays.copyOf(sectionStarts, section * 2);
+            bodyStarts = Arrays.copyOf(bodyStarts, section * 2);
+            sectionTokens = Arrays.copyOf(sectionTokens, section * 2 + 1);
+            bodyTokens = Arrays.copyOf(bodyTokens, section * 2);
+        }
+        sectionKinds[section] = kind;
+        sectionStarts[section] = start;
+        bodyStarts[section] = bodyStart;
+        sectionTokens[section] = firstToken;
+        bodyTokens[section] = bodyToken;
+        sectionCount = section + 1;
+    }
+
+    // Kind of the section whose keyword is text[start, end), ignoring case, or null
+    private SectionKind kindOf(int start, int end) {
+        int length = end - start;
+        for (int k = 0; k < KEYWORDS.length; k++) {
+            char[] keyword = KEYWORDS[k];
+            if (keyword.length != length)
+                continue;
+            int i = 0;
+            while (i < length && Character.toLowerCase(text.charAt(start + i)) == keyword[i]) {
+                i++;
+            }
+            if (i == length)
+                return KEYWORD_KINDS[k];
+        }
+        return null;
+    }
+}
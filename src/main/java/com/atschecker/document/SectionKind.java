@@ -0,0 +1,33 @@
+package com.atschecker.document;
+
+/**
+ * What a resume section is about, judged from its header.
+ */
+public enum SectionKind {
+
+    /**
+     * Text before the first recognized header, usually the name and contact line.
+     */
+    OTHER(1),
+    SUMMARY(1),
+    EXPERIENCE(2),
+    EDUCATION(1),
+    SKILLS(1),
+    PROJECTS(2),
+    CERTIFICATIONS(1),
+    CONTACT(1);
+
+    private final int skillWeight;
+
+    SectionKind(int skillWeight) {
+        this.skillWeight = skillWeight;
+    }
+
+    /**
+     * How much one skill mention in this section counts. A skill used in
+     * Experience or Projects shows more than one named in a bare Skills list.
+     */
+    public int skillWeight() {
+        return skillWeight;
+    }
+}
@@ -0,0 +1,103 @@
+package com.atschecker.dto;
+
+import com.atschecker.jobs.JobPriority;
+import com.atschecker.jobs.JobStatus;
+
+import java.time.Instant;
+
+public class AnalysisJobResponse {
+    private String id;
+    private JobStatus status;
+    private JobPriority priority;
+    private String fileName;
+    private int attempts;
+    private Instant submittedAt;
+    private Instant finishedAt;
+    private AnalysisResponse result;
+    private String error;
+    // True when this resume and job description had already been submitted
+    private boolean duplicate;
+
+    public AnalysisJobResponse() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public JobPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(JobPriority priority) {
+        this.priority = priority;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public AnalysisResponse getResult() {
+        return result;
+    }
+
+    public void setResult(AnalysisResponse result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isDuplicate() {
+        return duplicate;
+    }
+
+    public void setDuplicate(boolean duplicate) {
+        this.duplicate = duplicate;
+    }
+}
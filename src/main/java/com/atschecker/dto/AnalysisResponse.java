@@ -1,13 +1,23 @@
 package com.atschecker.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
+// Parts left out through ResponseField are null and not serialized
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AnalysisResponse {
     private int atsScore;
     private List<String> matchedKeywords;
     private List<String> missingKeywords;
+    // The same skills as dictionary ids, for the compact encoding
+    private int[] matchedSkillIds;
+    private int[] missingSkillIds;
     private List<String> warnings;
     private List<String> suggestions;
+    private String dictionaryVersion;
+    // Set on an analysis job's result when the resume nearly duplicates an earlier job's
+    private String duplicateOf;
 
     public AnalysisResponse() {
     }
@@ -45,6 +55,22 @@ public class AnalysisResponse {
         this.missingKeywords = missingKeywords;
     }
 
+    public int[] getMatchedSkillIds() {
+        return matchedSkillIds;
+    }
+
+    public void setMatchedSkillIds(int[] matchedSkillIds) {
+        this.matchedSkillIds = matchedSkillIds;
+    }
+
+    public int[] getMissingSkillIds() {
+        return missingSkillIds;
+    }
+
+    public void setMissingSkillIds(int[] missingSkillIds) {
+        this.missingSkillIds = missingSkillIds;
+    }
+
     public List<String> getWarnings() {
         return warnings;
     }
@@ -60,4 +86,34 @@ public class AnalysisResponse {
     public void setSuggestions(List<String> suggestions) {
         this.suggestions = suggestions;
     }
+
+    public String getDictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    public void setDictionaryVersion(String dictionaryVersion) {
+        this.dictionaryVersion = dictionaryVersion;
+    }
+
+    public String getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public void setDuplicateOf(String duplicateOf) {
+        this.duplicateOf = duplicateOf;
+    }
+
+    /**
+     * A copy marked as a duplicate of the named resume, leaving this one,
+     * which may be the original's shared result, untouched.
+     */
+    public AnalysisResponse asDuplicateOf(String original) {
+        AnalysisResponse copy = new AnalysisResponse(atsScore, matchedKeywords, missingKeywords, warnings,
+                suggestions);
+        copy.matchedSkillIds = matchedSkillIds;
+        copy.missingSkillIds = missingSkillIds;
+        copy.dictionaryVersion = dictionaryVersion;
+        copy.duplicateOf = original;
+        return copy;
+    }
 }
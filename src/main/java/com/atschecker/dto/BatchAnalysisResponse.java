@@ -0,0 +1,63 @@
+package com.atschecker.dto;
+
+import java.util.List;
+
+public class BatchAnalysisResponse {
+    private int totalFiles;
+    private int analyzed;
+    private int failed;
+    private List<String> jobKeywords;
+    private List<BatchItemResult> results;
+
+    public BatchAnalysisResponse() {
+    }
+
+    public BatchAnalysisResponse(int totalFiles, int analyzed, int failed, List<String> jobKeywords,
+            List<BatchItemResult> results) {
+        this.totalFiles = totalFiles;
+        this.analyzed = analyzed;
+        this.failed = failed;
+        this.jobKeywords = jobKeywords;
+        this.results = results;
+    }
+
+    public int getTotalFiles() {
+        return totalFiles;
+    }
+
+    public void setTotalFiles(int totalFiles) {
+        this.totalFiles = totalFiles;
+    }
+
+    public int getAnalyzed() {
+        return analyzed;
+    }
+
+    public void setAnalyzed(int analyzed) {
+        this.analyzed = analyzed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<String> getJobKeywords() {
+        return jobKeywords;
+    }
+
+    public void setJobKeywords(List<String> jobKeywords) {
+        this.jobKeywords = jobKeywords;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,72 @@
+package com.atschecker.dto;
+
+public class BatchItemResult {
+    private String fileName;
+    private Integer rank;
+    private AnalysisResponse analysis;
+    private String error;
+    // Name of the earlier resume in the batch this one nearly duplicates
+    private String duplicateOf;
+
+    public BatchItemResult() {
+    }
+
+    public BatchItemResult(String fileName, Integer rank, AnalysisResponse analysis, String error) {
+        this.fileName = fileName;
+        this.rank = rank;
+        this.analysis = analysis;
+        this.error = error;
+    }
+
+    public static BatchItemResult success(String fileName, AnalysisResponse analysis) {
+        return new BatchItemResult(fileName, null, analysis, null);
+    }
+
+    public static BatchItemResult failure(String fileName, String error) {
+        return new BatchItemResult(fileName, null, null, error);
+    }
+
+    public boolean isSuccess() {
+        return analysis != null;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Integer getRank() {
+        return rank;
+    }
+
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
+
+    public AnalysisResponse getAnalysis() {
+        return analysis;
+    }
+
+    public void setAnalysis(AnalysisResponse analysis) {
+        this.analysis = analysis;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getDuplicateOf() {
+        return duplicateOf;
+    }
+
+    public void setDuplicateOf(String duplicateOf) {
+        this.duplicateOf = duplicateOf;
+    }
+}
@@ -0,0 +1,67 @@
+package com.atschecker.dto;
+
+public class DictionaryResponse {
+    private String version;
+    private int skillCount;
+    private int lookupKeyCount;
+    private int variantCount;
+    private double variantBuildMillis;
+    private long matcherBytes;
+
+    public DictionaryResponse() {
+    }
+
+    public DictionaryResponse(String version, int skillCount, int lookupKeyCount) {
+        this.version = version;
+        this.skillCount = skillCount;
+        this.lookupKeyCount = lookupKeyCount;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public int getSkillCount() {
+        return skillCount;
+    }
+
+    public void setSkillCount(int skillCount) {
+        this.skillCount = skillCount;
+    }
+
+    public int getLookupKeyCount() {
+        return lookupKeyCount;
+    }
+
+    public void setLookupKeyCount(int lookupKeyCount) {
+        this.lookupKeyCount = lookupKeyCount;
+    }
+
+    public int getVariantCount() {
+        return variantCount;
+    }
+
+    public void setVariantCount(int variantCount) {
+        this.variantCount = variantCount;
+    }
+
+    public double getVariantBuildMillis() {
+        return variantBuildMillis;
+    }
+
+    public void setVariantBuildMillis(double variantBuildMillis) {
+        this.variantBuildMillis = variantBuildMillis;
+    }
+
+    public long getMatcherBytes() {
+        return matcherBytes;
+    }
+
+    public void setMatcherBytes(long matcherBytes) {
+        this.matcherBytes = matcherBytes;
+    }
+}
@@ -0,0 +1,41 @@
+package com.atschecker.dto;
+
+import java.util.List;
+
+public class JobProfileResponse {
+    private String id;
+    private List<String> keywords;
+    private String dictionaryVersion;
+
+    public JobProfileResponse() {
+    }
+
+    public JobProfileResponse(String id, List<String> keywords) {
+        this.id = id;
+        this.keywords = keywords;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(List<String> keywords) {
+        this.keywords = keywords;
+    }
+
+    public String getDictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    public void setDictionaryVersion(String dictionaryVersion) {
+        this.dictionaryVersion = dictionaryVersion;
+    }
+}
@@ -0,0 +1,71 @@
+package com.atschecker.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Parts of an {@link AnalysisResponse} a client can ask for with
+ * {@code fields=}. Parts left out are neither computed nor serialized; the
+ * score is always included.
+ */
+public enum ResponseField {
+    MATCHED_KEYWORDS("matchedKeywords"),
+    MISSING_KEYWORDS("missingKeywords"),
+    MATCHED_SKILL_IDS("matchedSkillIds"),
+    MISSING_SKILL_IDS("missingSkillIds"),
+    WARNINGS("warnings"),
+    SUGGESTIONS("suggestions"),
+    DICTIONARY_VERSION("dictionaryVersion");
+
+    /**
+     * What a JSON response carries unless fields are given.
+     */
+    public static final Set<ResponseField> FULL = Collections.unmodifiableSet(EnumSet.of(MATCHED_KEYWORDS,
+            MISSING_KEYWORDS, WARNINGS, SUGGESTIONS, DICTIONARY_VERSION));
+
+    /**
+     * What a CBOR response carries unless fields are given: skills as ids of
+     * the dictionary version sent alongside, and no English text.
+     */
+    public static final Set<ResponseField> COMPACT = Collections.unmodifiableSet(EnumSet.of(MATCHED_SKILL_IDS,
+            MISSING_SKILL_IDS, DICTIONARY_VERSION));
+
+    private final String fieldName;
+
+    ResponseField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Parses a comma-separated list of field names such as
+     * "matchedSkillIds,dictionaryVersion"; blank means the defaults.
+     * "atsScore" is accepted and changes nothing.
+     *
+     * @throws IllegalArgumentException for an unknown name
+     */
+    public static Set<ResponseField> parse(String fields, Set<ResponseField> defaults) {
+        if (fields == null || fields.isBlank())
+            return defaults;
+        EnumSet<ResponseField> selected = EnumSet.noneOf(ResponseField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty() || trimmed.equals("atsScore"))
+                continue;
+            selected.add(byName(trimmed));
+        }
+        return selected;
+    }
+
+    private static ResponseField byName(String name) {
+        for (ResponseField field : values()) {
+            if (field.fieldName.equals(name))
+                return field;
+        }
+        throw new IllegalArgumentException("Unknown response field: " + name);
+    }
+}
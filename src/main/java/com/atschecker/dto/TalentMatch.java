@@ -0,0 +1,62 @@
+package com.atschecker.dto;
+
+import java.util.List;
+
+public class TalentMatch {
+    private int resumeId;
+    private String fileName;
+    private int atsScore;
+    private List<String> matchedKeywords;
+    private List<String> missingKeywords;
+
+    public TalentMatch() {
+    }
+
+    public TalentMatch(int resumeId, String fileName, int atsScore, List<String> matchedKeywords, List<String> missingKeywords) {
+        this.resumeId = resumeId;
+        this.fileName = fileName;
+        this.atsScore = atsScore;
+        this.matchedKeywords = matchedKeywords;
+        this.missingKeywords = missingKeywords;
+    }
+
+    public int getResumeId() {
+        return resumeId;
+    }
+
+    public void setResumeId(int resumeId) {
+        this.resumeId = resumeId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public int getAtsScore() {
+        return atsScore;
+    }
+
+    public void setAtsScore(int atsScore) {
+        this.atsScore = atsScore;
+    }
+
+    public List<String> getMatchedKeywords() {
+        return matchedKeywords;
+    }
+
+    public void setMatchedKeywords(List<String> matchedKeywords) {
+        this.matchedKeywords = matchedKeywords;
+    }
+
+    public List<String> getMissingKeywords() {
+        return missingKeywords;
+    }
+
+    public void setMissingKeywords(List<String> missingKeywords) {
+        this.missingKeywords = missingKeywords;
+    }
+}
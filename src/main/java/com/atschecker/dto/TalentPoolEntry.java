@@ -0,0 +1,52 @@
+package com.atschecker.dto;
+
+import java.util.List;
+
+public class TalentPoolEntry {
+    private Integer resumeId;
+    private String fileName;
+    private List<String> skills;
+    private String error;
+
+    public TalentPoolEntry() {
+    }
+
+    public TalentPoolEntry(Integer resumeId, String fileName, List<String> skills, String error) {
+        this.resumeId = resumeId;
+        this.fileName = fileName;
+        this.skills = skills;
+        this.error = error;
+    }
+
+    public Integer getResumeId() {
+        return resumeId;
+    }
+
+    public void setResumeId(Integer resumeId) {
+        this.resumeId = resumeId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
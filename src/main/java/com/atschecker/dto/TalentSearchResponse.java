@@ -0,0 +1,51 @@
+package com.atschecker.dto;
+
+import java.util.List;
+
+public class TalentSearchResponse {
+    private int poolSize;
+    private List<String> jobKeywords;
+    private List<TalentMatch> results;
+    private String dictionaryVersion;
+
+    public TalentSearchResponse() {
+    }
+
+    public TalentSearchResponse(int poolSize, List<String> jobKeywords, List<TalentMatch> results) {
+        this.poolSize = poolSize;
+        this.jobKeywords = jobKeywords;
+        this.results = results;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public List<String> getJobKeywords() {
+        return jobKeywords;
+    }
+
+    public void setJobKeywords(List<String> jobKeywords) {
+        this.jobKeywords = jobKeywords;
+    }
+
+    public List<TalentMatch> getResults() {
+        return results;
+    }
+
+    public void setResults(List<TalentMatch> results) {
+        this.results = results;
+    }
+
+    public String getDictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    public void setDictionaryVersion(String dictionaryVersion) {
+        this.dictionaryVersion = dictionaryVersion;
+    }
+}
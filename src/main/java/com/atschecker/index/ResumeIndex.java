@@ -0,0 +1,370 @@
+package com.atschecker.index;
+
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent store of parsed resumes with an inverted index from canonical
+ * skill name to the ids of the resumes that mention it.
+ *
+ * Resume ids are dense ints, so each posting list is a Roaring bitmap. A JD
+ * query only touches the postings of its own skills: their union gives the
+ * candidates and a pass over each list counts matches per candidate, so query
+ * cost follows the posting sizes, not the number of stored resumes.
+ *
+ * Only what scoring needs is kept per resume: its file name, content digest,
+ * document score and skill counts. Records are appended to a log in the data
+ * directory and replayed on startup. Skills are stored by name so the log
+ * stays valid when the dictionary changes. Each record is written whole as
+ * one length-prefixed, checksummed frame, and replay stops at the first frame
+ * that is cut short or doesn't match its checksum.
+ */
+@Component
+public class ResumeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeIndex.class);
+    private static final String LOG_FILE = "resumes.log";
+    // Starts a framed log; a log without it predates framing and is converted on startup
+    private static final int MAGIC = 0x52495831;
+    // Length and CRC-32 ahead of each record
+    private static final int FRAME_HEADER = 2 * Integer.BYTES;
+    private static final int MAX_RECORD = 16 * 1024 * 1024;
+
+    @FunctionalInterface
+    public interface ScoreFunction {
+        /**
+         * Scores one candidate. The first {@code matchedCount} entries of
+         * {@code matched} are the positions, in the query's skill list, of the
+         * skills the resume has. The array is reused for the next candidate.
+         */
+        int score(int[] matched, int matchedCount, double documentScore);
+    }
+
+    public static final class Hit {
+        private final int resumeId;
+        private final int score;
+
+        Hit(int resumeId, int score) {
+            this.resumeId = resumeId;
+            this.score = score;
+        }
+
+        public int getResumeId() {
+            return resumeId;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, RoaringBitmap> postings = new HashMap<>();
+    private final Map<String, Integer> idsByDigest = new HashMap<>();
+    private final List<String> fileNames = new ArrayList<>();
+    private double[] documentScores = new double[1024];
+    private final Path logFile;
+    private FileChannel logOut;
+    // End of the last complete record, where a failed append is cut back to
+    private long logLength;
+
+    public ResumeIndex(@Value("${ats.talent-pool.dir:}") String dataDir) throws IOException {
+        this.logFile = dataDir.isBlank() ? null : Paths.get(dataDir).resolve(LOG_FILE);
+        if (logFile != null) {
+            Files.createDirectories(logFile.getParent());
+            replay();
+            logOut = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            logLength = logOut.size();
+            if (logLength == 0) {
+                writeFully(logOut, ByteBuffer.allocate(Integer.BYTES).putInt(0, MAGIC));
+                logLength = Integer.BYTES;
+            }
+        }
+    }
+
+    /**
+     * Adds a resume and returns its id. A resume whose digest is already stored
+     * keeps its existing id.
+     */
+    public int add(String digest, String fileName, double documentScore, Map<String, Integer> skillCounts)
+            throws IOException {
+        lock.writeLock().lock();
+        try {
+            Integer existing = idsByDigest.get(digest);
+            if (existing != null)
+                return existing;
+
+            if (logOut != null) {
+                append(new Entry(digest, fileName, documentScore, skillCounts));
+            }
+            return insert(digest, fileName, documentScore, skillCounts.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the top {@code k} resumes for the given skills, best first.
+     * Resumes that match none of the skills are not candidates.
+     */
+    public List<Hit> topK(List<String> skills, int k, ScoreFunction scoreFunction) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> lists = new ArrayList<>();
+            List<Integer> listSkills = new ArrayList<>();
+            for (int i = 0; i < skills.size(); i++) {
+                RoaringBitmap list = postings.get(skills.get(i));
+                if (list != null) {
+                    lists.add(list);
+                    listSkills.add(i);
+                }
+            }
+            if (lists.isEmpty() || k <= 0)
+                return Collections.emptyList();
+
+            // Candidates and every posting list come in ascending id order, so one
+            // cursor per list tells which skills each candidate has without lookups
+            RoaringBitmap candidates = FastAggregation.or(lists.iterator());
+            PeekableIntIterator[] cursors = new PeekableIntIterator[lists.size()];
+            for (int j = 0; j < cursors.length; j++) {
+                cursors[j] = lists.get(j).getIntIterator();
+            }
+            int[] cursorSkills = listSkills.stream().mapToInt(Integer::intValue).toArray();
+            int[] matched = new int[cursors.length];
+
+            // Min-heap of the best k seen so far
+            PriorityQueue<Hit> best = new PriorityQueue<>(k + 1,
+                    Comparator.comparingInt(Hit::getScore).thenComparing(Hit::getResumeId, Comparator.reverseOrder()));
+            candidates.forEach((int id) -> {
+                int matchedCount = 0;
+                for (int j = 0; j < cursors.length; j++) {
+                    if (cursors[j].hasNext() && cursors[j].peekNext() == id) {
+                        cursors[j].next();
+                        matched[matchedCount++] = cursorSkills[j];
+                    }
+                }
+                int score = scoreFunction.score(matched, matchedCount, documentScores[id]);
+                // Ties go to the lower id, which was offered first
+                if (best.size() < k || score > best.peek().getScore()) {
+                    best.add(new Hit(id, score));
+                    if (best.size() > k)
+                        best.poll();
+                }
+            });
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(Comparator.comparingInt(Hit::getScore).reversed().thenComparingInt(Hit::getResumeId));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean hasSkill(int resumeId, String skill) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap list = postings.get(skill);
+            return list != null && list.contains(resumeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String fileName(int resumeId) {
+        lock.readLock().lock();
+        try {
+            return fileNames.get(resumeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return fileNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int insert(String digest, String fileName, double documentScore, Collection<String> skills) {
+        int id = fileNames.size();
+        fileNames.add(fileName);
+        idsByDigest.put(digest, id);
+        if (id == documentScores.length) {
+            documentScores = Arrays.copyOf(documentScores, id * 2);
+        }
+        documentScores[id] = documentScore;
+        for (String skill : skills) {
+            postings.computeIfAbsent(skill, s -> new RoaringBitmap()).add(id);
+        }
+        return id;
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(logFile) || Files.size(logFile) == 0)
+            return;
+        if (!isFramed()) {
+            convertUnframedLog();
+        }
+
+        long validLength = Integer.BYTES;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+            in.readInt();
+            while (true) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 0 || length > MAX_RECORD)
+                    break;
+                byte[] record = in.readNBytes(length);
+                if (record.length < length || checksum(record) != checksum)
+                    break;
+                Entry entry = Entry.read(new DataInputStream(new ByteArrayInputStream(record)));
+                if (!idsByDigest.containsKey(entry.digest())) {
+                    insert(entry.digest(), entry.fileName(), entry.documentScore(), entry.skillCounts().keySet());
+                }
+                validLength += FRAME_HEADER + length;
+            }
+        } catch (EOFException e) {
+            // End of log
+        }
+
+        // A crash mid-append leaves a partial last record, and anything after a
+        // damaged frame can't be trusted; cut the log back to the last good record
+        long size = Files.size(logFile);
+        if (size > validLength) {
+            log.warn("Dropping {} bytes after the last intact record in {}", size - validLength, logFile);
+            try (RandomAccessFile file = new RandomAccessFile(logFile.toFile(), "rw")) {
+                file.setLength(validLength);
+            }
+        }
+        postings.values().forEach(RoaringBitmap::runOptimize);
+        log.info("Loaded {} resumes into the talent pool from {}", fileNames.size(), logFile);
+    }
+
+    private boolean isFramed() throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(logFile))) {
+            return Files.size(logFile) >= Integer.BYTES && in.readInt() == MAGIC;
+        }
+    }
+
+    // Rewrites a log of bare records, as written before framing, as frames
+    private void convertUnframedLog() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+            while (true) {
+                entries.add(Entry.read(in));
+            }
+        } catch (EOFException e) {
+            // End of log, possibly in a partial last record
+        }
+
+        Path converted = logFile.resolveSibling(LOG_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(converted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(out, ByteBuffer.allocate(Integer.BYTES).putInt(0, MAGIC));
+            for (Entry entry : entries) {
+                writeFully(out, frame(entry.encode()));
+            }
+            out.force(true);
+        }
+        Files.move(converted, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Converted {} talent pool records in {} to the framed log format", entries.size(), logFile);
+    }
+
+    /**
+     * Encodes the whole record before writing anything, so a record that
+     * can't be encoded leaves the log untouched, and cuts a partly written
+     * frame back off so the next record follows the last complete one.
+     */
+    private void append(Entry entry) throws IOException {
+        ByteBuffer frame = frame(entry.encode());
+        try {
+            writeFully(logOut, frame);
+            logLength += frame.capacity();
+        } catch (IOException e) {
+            try {
+                logOut.truncate(logLength);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (logOut != null) {
+            logOut.close();
+        }
+    }
+
+    private static ByteBuffer frame(byte[] record) {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + record.length);
+        frame.putInt(record.length).putInt(checksum(record)).put(record).flip();
+        return frame;
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // One stored resume; skill counts are kept for frequency-based scoring
+    private record Entry(String digest, String fileName, double documentScore, Map<String, Integer> skillCounts) {
+
+        static Entry read(DataInputStream in) throws IOException {
+            String digest = in.readUTF();
+            String fileName = in.readUTF();
+            double documentScore = in.readDouble();
+            int skillCount = in.readInt();
+            Map<String, Integer> skillCounts = new LinkedHashMap<>();
+            for (int i = 0; i < skillCount; i++) {
+                skillCounts.put(in.readUTF(), in.readInt());
+            }
+            return new Entry(digest, fileName, documentScore, skillCounts);
+        }
+
+        byte[] encode() throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeUTF(digest);
+            out.writeUTF(fileName);
+            out.writeDouble(documentScore);
+            out.writeInt(skillCounts.size());
+            for (Map.Entry<String, Integer> skill : skillCounts.entrySet()) {
+                out.writeUTF(skill.getKey());
+                out.writeInt(skill.getValue());
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.atschecker.jobs;
+
+import com.atschecker.dto.AnalysisResponse;
+
+import java.time.Instant;
+
+/**
+ * One resume scored against one job description in the background. The
+ * mutable state is only changed by {@link AnalysisJobStore}, which logs every
+ * change; readers see each field's latest value without locking.
+ */
+public final class AnalysisJob {
+
+    private final String id;
+    private final String key;
+    private final String fileName;
+    private final String jobDescription;
+    private final JobPriority priority;
+    private final long sequence;
+    private final Instant submittedAt;
+
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile int attempts;
+    private volatile Instant finishedAt;
+    private volatile AnalysisResponse result;
+    private volatile String error;
+
+    AnalysisJob(String id, String key, String fileName, String jobDescription, JobPriority priority,
+            long sequence, Instant submittedAt) {
+        this.id = id;
+        this.key = key;
+        this.fileName = fileName;
+        this.jobDescription = jobDescription;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.submittedAt = submittedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Hash of the resume bytes and job description; resubmitting the same pair
+     * finds this job again.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getJobDescription() {
+        return jobDescription;
+    }
+
+    public JobPriority getPriority() {
+        return priority;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public AnalysisResponse getResult() {
+        return result;
+    }
+
+    /**
+     * Reason the job failed, or why the last attempt failed while a retry is pending.
+     */
+    public String getError() {
+        return error;
+    }
+
+    void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    void setResult(AnalysisResponse result) {
+        this.result = result;
+    }
+
+    void setError(String error) {
+        this.error = error;
+    }
+}
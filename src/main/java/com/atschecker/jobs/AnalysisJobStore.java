@@ -0,0 +1,435 @@
+package com.atschecker.jobs;
+
+import com.atschecker.dto.AnalysisResponse;
+import com.atschecker.parser.ResumeSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Durable state of the asynchronous analysis jobs.
+ *
+ * Every state change is appended to a log in the data directory, and each
+ * queued resume is kept as a file next to it until its job finishes. On
+ * startup the log is replayed: jobs that were queued or running when the
+ * process stopped are queued again, and the log is rewritten without finished
+ * jobs older than the retention period. The same rewrite runs whenever
+ * {@link #purgeExpired()} drops jobs, so the log stays bounded on an instance
+ * that is never restarted.
+ *
+ * Submissions are synced to disk before they are acknowledged; later records
+ * are only flushed, so a crash can at worst repeat an attempt.
+ */
+@Component
+public class AnalysisJobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisJobStore.class);
+    private static final String LOG_FILE = "jobs.log";
+    private static final String PAYLOAD_DIR = "payloads";
+
+    private static final byte SUBMITTED = 1;
+    private static final byte STARTED = 2;
+    private static final byte RETRYING = 3;
+    private static final byte SUCCEEDED = 4;
+    private static final byte FAILED = 5;
+
+    private final Path logFile;
+    private final Path payloadDir;
+    private final Duration retention;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, AnalysisJob> jobs = new HashMap<>();
+    private final Map<String, AnalysisJob> jobsByKey = new HashMap<>();
+    // Queued resumes when there is no data directory
+    private final Map<String, byte[]> memoryPayloads = new HashMap<>();
+    private long nextSequence;
+    private FileOutputStream logOut;
+
+    public AnalysisJobStore(@Value("${ats.jobs.dir:}") String dataDir,
+            @Value("${ats.jobs.retention:7d}") Duration retention,
+            ObjectMapper objectMapper) throws IOException {
+        this.logFile = dataDir.isBlank() ? null : Paths.get(dataDir).resolve(LOG_FILE);
+        this.payloadDir = dataDir.isBlank() ? null : Paths.get(dataDir).resolve(PAYLOAD_DIR);
+        this.retention = retention;
+        this.objectMapper = objectMapper;
+        if (logFile != null) {
+            Files.createDirectories(payloadDir);
+            replay();
+            forgetExpired();
+            rewriteLog();
+            removeOrphanPayloads();
+            log.info("Loaded {} analysis jobs from {} ({} queued)", jobs.size(), logFile, queued().size());
+            logOut = new FileOutputStream(logFile.toFile(), true);
+        }
+    }
+
+    /**
+     * Records a new job and its resume, unless a job with the same key exists
+     * that has not failed; that job is returned instead. The new job is on
+     * disk when this returns.
+     */
+    public AnalysisJob submit(String id, String key, String fileName, String jobDescription, JobPriority priority,
+            byte[] content) throws IOException {
+        synchronized (this) {
+            AnalysisJob existing = findByKey(key);
+            if (existing != null)
+                return existing;
+        }
+
+        // Written outside the lock; a payload without a SUBMITTED record is removed on the next startup
+        if (payloadDir != null) {
+            try (FileChannel channel = FileChannel.open(payloadFile(id), StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+        }
+
+        synchronized (this) {
+            AnalysisJob existing = findByKey(key);
+            if (existing != null) {
+                // Lost a race with an identical submission
+                deletePayload(id);
+                return existing;
+            }
+            AnalysisJob job = new AnalysisJob(id, key, fileName, jobDescription, priority, nextSequence++,
+                    Instant.now());
+            if (logOut != null) {
+                try {
+                    append(SUBMITTED, out -> writeSubmitted(out, job), true);
+                } catch (IOException | RuntimeException e) {
+                    // Not in the log, so nothing will ever read the payload
+                    deletePayload(id);
+                    throw e;
+                }
+            } else {
+                memoryPayloads.put(id, content);
+            }
+            jobs.put(id, job);
+            jobsByKey.put(key, job);
+            return job;
+        }
+    }
+
+    public synchronized AnalysisJob find(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * The job with this key that is queued, running or succeeded, if any.
+     */
+    public synchronized AnalysisJob findByKey(String key) {
+        AnalysisJob job = jobsByKey.get(key);
+        return job != null && job.getStatus() != JobStatus.FAILED ? job : null;
+    }
+
+    /**
+     * Queued jobs, in no particular order.
+     */
+    public synchronized List<AnalysisJob> queued() {
+        List<AnalysisJob> queued = new ArrayList<>();
+        for (AnalysisJob job : jobs.values()) {
+            if (job.getStatus() == JobStatus.QUEUED)
+                queued.add(job);
+        }
+        return queued;
+    }
+
+    public ResumeSource payload(AnalysisJob job) {
+        if (payloadDir != null)
+            return ResumeSource.of(job.getFileName(), payloadFile(job.getId()));
+        synchronized (this) {
+            return ResumeSource.of(job.getFileName(), memoryPayloads.get(job.getId()));
+        }
+    }
+
+    /**
+     * Marks the job running. If the record can't be written the job is left
+     * as it was, still queued.
+     */
+    public synchronized void started(AnalysisJob job) throws IOException {
+        int attempts = job.getAttempts() + 1;
+        append(STARTED, out -> {
+            out.writeUTF(job.getId());
+            out.writeInt(attempts);
+        }, false);
+        job.setAttempts(attempts);
+        job.setStatus(JobStatus.RUNNING);
+    }
+
+    public synchronized void retrying(AnalysisJob job, String error) throws IOException {
+        job.setError(error);
+        job.setStatus(JobStatus.QUEUED);
+        append(RETRYING, out -> {
+            out.writeUTF(job.getId());
+            writeText(out, error);
+        }, false);
+    }
+
+    public synchronized void succeeded(AnalysisJob job, AnalysisResponse result) throws IOException {
+        job.setFinishedAt(Instant.now());
+        job.setResult(result);
+        job.setError(null);
+        job.setStatus(JobStatus.SUCCEEDED);
+        append(SUCCEEDED, out -> writeSucceeded(out, job), false);
+        deletePayload(job.getId());
+    }
+
+    public synchronized void failed(AnalysisJob job, String error) throws IOException {
+        job.setFinishedAt(Instant.now());
+        job.setError(error);
+        job.setStatus(JobStatus.FAILED);
+        append(FAILED, out -> writeFailed(out, job), false);
+        deletePayload(job.getId());
+    }
+
+    /**
+     * Forgets finished jobs older than the retention period and, if there were
+     * any, rewrites the log without them. Returns how many were dropped.
+     */
+    public synchronized int purgeExpired() throws IOException {
+        int purged = forgetExpired();
+        if (purged > 0 && logOut != null) {
+            logOut.close();
+            logOut = null;
+            try {
+                rewriteLog();
+            } finally {
+                // Appends continue on the rewritten log, or on the old one if the rewrite failed
+                logOut = new FileOutputStream(logFile.toFile(), true);
+            }
+        }
+        return purged;
+    }
+
+    private int forgetExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        int purged = 0;
+        for (Iterator<AnalysisJob> it = jobs.values().iterator(); it.hasNext();) {
+            AnalysisJob job = it.next();
+            if (isExpired(job, cutoff)) {
+                it.remove();
+                jobsByKey.remove(job.getKey(), job);
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (logOut != null) {
+            logOut.close();
+            logOut = null;
+        }
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(logFile))
+            return;
+
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+            while (true) {
+                int length = in.readInt();
+                byte[] record = in.readNBytes(length);
+                if (record.length < length)
+                    break;
+                apply(new DataInputStream(new ByteArrayInputStream(record)));
+                validLength += Integer.BYTES + length;
+            }
+        } catch (EOFException e) {
+            // End of log
+        }
+
+        if (Files.size(logFile) > validLength) {
+            log.warn("Dropping truncated record at the end of {}", logFile);
+        }
+        // Jobs that were running when the process stopped are picked up again
+        for (AnalysisJob job : jobs.values()) {
+            if (job.getStatus() == JobStatus.RUNNING)
+                job.setStatus(JobStatus.QUEUED);
+        }
+    }
+
+    private void apply(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        if (type == SUBMITTED) {
+            AnalysisJob job = new AnalysisJob(in.readUTF(), in.readUTF(), in.readUTF(), readText(in),
+                    JobPriority.values()[in.readByte()], in.readLong(), Instant.ofEpochMilli(in.readLong()));
+            jobs.put(job.getId(), job);
+            jobsByKey.put(job.getKey(), job);
+            nextSequence = Math.max(nextSequence, job.getSequence() + 1);
+            return;
+        }
+
+        AnalysisJob job = jobs.get(in.readUTF());
+        if (job == null)
+            return;
+        switch (type) {
+            case STARTED -> {
+                job.setStatus(JobStatus.RUNNING);
+                job.setAttempts(in.readInt());
+            }
+            case RETRYING -> {
+                job.setStatus(JobStatus.QUEUED);
+                job.setError(readText(in));
+            }
+            case SUCCEEDED -> {
+                job.setStatus(JobStatus.SUCCEEDED);
+                job.setFinishedAt(Instant.ofEpochMilli(in.readLong()));
+                job.setResult(objectMapper.readValue(readText(in), AnalysisResponse.class));
+                job.setError(null);
+            }
+            case FAILED -> {
+                job.setStatus(JobStatus.FAILED);
+                job.setFinishedAt(Instant.ofEpochMilli(in.readLong()));
+                job.setError(readText(in));
+            }
+            default -> throw new IOException("Unknown record type " + type + " in " + logFile);
+        }
+    }
+
+    /**
+     * Rewrites the log with one set of records per retained job. The old log
+     * is only replaced once the new one is on disk.
+     */
+    private void rewriteLog() throws IOException {
+        Path tmp = logFile.resolveSibling(LOG_FILE + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp.toFile())) {
+            List<AnalysisJob> retained = new ArrayList<>(jobs.values());
+            retained.sort(Comparator.comparingLong(AnalysisJob::getSequence));
+            for (AnalysisJob job : retained) {
+                writeRecord(out, SUBMITTED, o -> writeSubmitted(o, job));
+                if (job.getAttempts() > 0) {
+                    writeRecord(out, STARTED, o -> {
+                        o.writeUTF(job.getId());
+                        o.writeInt(job.getAttempts());
+                    });
+                }
+                if (job.getStatus() == JobStatus.SUCCEEDED) {
+                    writeRecord(out, SUCCEEDED, o -> writeSucceeded(o, job));
+                } else if (job.getStatus() == JobStatus.FAILED) {
+                    writeRecord(out, FAILED, o -> writeFailed(o, job));
+                } else if (job.getError() != null) {
+                    writeRecord(out, RETRYING, o -> {
+                        o.writeUTF(job.getId());
+                        writeText(o, job.getError());
+                    });
+                }
+            }
+            out.getFD().sync();
+        }
+        Files.move(tmp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Removes payloads that no queued job refers to. Only safe at startup: while
+     * running, a payload is written before its job is recorded.
+     */
+    private void removeOrphanPayloads() throws IOException {
+        try (DirectoryStream<Path> payloads = Files.newDirectoryStream(payloadDir)) {
+            for (Path payload : payloads) {
+                String id = payload.getFileName().toString().replace(".bin", "");
+                AnalysisJob job = jobs.get(id);
+                if (job == null || job.getStatus().isFinished())
+                    Files.deleteIfExists(payload);
+            }
+        }
+    }
+
+    private void append(byte type, RecordWriter writer, boolean sync) throws IOException {
+        if (logOut == null)
+            return;
+        writeRecord(logOut, type, writer);
+        if (sync) {
+            logOut.getFD().sync();
+        }
+    }
+
+    private static void writeRecord(OutputStream target, byte type, RecordWriter writer) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte(type);
+        writer.write(out);
+
+        // Length-prefixed, so a record cut short by a crash is recognized on replay
+        DataOutputStream framed = new DataOutputStream(target);
+        framed.writeInt(buffer.size());
+        buffer.writeTo(framed);
+        framed.flush();
+    }
+
+    private static void writeSubmitted(DataOutputStream out, AnalysisJob job) throws IOException {
+        out.writeUTF(job.getId());
+        out.writeUTF(job.getKey());
+        out.writeUTF(job.getFileName());
+        writeText(out, job.getJobDescription());
+        out.writeByte(job.getPriority().ordinal());
+        out.writeLong(job.getSequence());
+        out.writeLong(job.getSubmittedAt().toEpochMilli());
+    }
+
+    private void writeSucceeded(DataOutputStream out, AnalysisJob job) throws IOException {
+        out.writeUTF(job.getId());
+        out.writeLong(job.getFinishedAt().toEpochMilli());
+        writeText(out, objectMapper.writeValueAsString(job.getResult()));
+    }
+
+    private static void writeFailed(DataOutputStream out, AnalysisJob job) throws IOException {
+        out.writeUTF(job.getId());
+        out.writeLong(job.getFinishedAt().toEpochMilli());
+        writeText(out, job.getError());
+    }
+
+    // writeUTF is limited to 64KB, which a job description or result can exceed
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        byte[] bytes = String.valueOf(text).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readText(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isExpired(AnalysisJob job, Instant cutoff) {
+        return job.getStatus().isFinished() && job.getFinishedAt().isBefore(cutoff);
+    }
+
+    private Path payloadFile(String id) {
+        return payloadDir.resolve(id + ".bin");
+    }
+
+    private void deletePayload(String id) {
+        if (payloadDir == null) {
+            memoryPayloads.remove(id);
+            return;
+        }
+        try {
+            Files.deleteIfExists(payloadFile(id));
+        } catch (IOException e) {
+            log.warn("Could not delete payload of job {}: {}", id, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,11 @@
+package com.atschecker.jobs;
+
+/**
+ * Order in which queued jobs are picked up; jobs of equal priority run in
+ * submission order.
+ */
+public enum JobPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,299 @@
+package com.atschecker.parser;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.xwpf.usermodel.IBodyElement;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFFooter;
+import org.apache.poi.xwpf.usermodel.XWPFHeader;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFSDT;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+import org.apache.tika.Tika;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.sax.BodyContentHandler;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.List;
+
+/**
+ * Lightweight extractors for the formats resumes actually arrive in. Each one
+ * calls its library directly instead of going through Tika's detection and
+ * parser registry, and stops producing text at {@code maxChars}.
+ *
+ * Extraction checks the thread's interrupt flag as text is produced, so a
+ * parse that runs past its timeout can be cancelled.
+ */
+final class DocumentExtractors {
+
+    // PDF pages beyond this much heap are buffered in a temp file
+    private static final long PDF_MAX_MAIN_MEMORY = 16 * 1024 * 1024;
+
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    private DocumentExtractors() {
+    }
+
+    /**
+     * Sends PDF, DOCX and plain text to their dedicated extractors based on the
+     * file's leading bytes; anything else goes through full Tika. The detected
+     * content type is recorded in {@code metadata}.
+     */
+    static String extract(ResumeSource source, Metadata metadata, int maxChars) throws Exception {
+        DocumentFormat format = sniff(source);
+        if (format == DocumentFormat.PDF) {
+            metadata.set(Metadata.CONTENT_TYPE, format.mimeType());
+            try (InputStream stream = source.openStream()) {
+                return pdf(stream, maxChars);
+            }
+        }
+        if (format == DocumentFormat.DOCX) {
+            try (InputStream stream = source.openStream()) {
+                String text = docx(stream, maxChars);
+                metadata.set(Metadata.CONTENT_TYPE, format.mimeType());
+                return text;
+            } catch (InterruptedIOException e) {
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                // A ZIP that POI can't read as a Word document (ODT, XLSX, ...): let Tika try
+            }
+        }
+        if (format == DocumentFormat.TEXT) {
+            metadata.set(Metadata.CONTENT_TYPE, format.mimeType());
+            return text(source, maxChars);
+        }
+
+        try (InputStream stream = source.openStream()) {
+            return tika(stream, metadata, maxChars);
+        }
+    }
+
+    private static DocumentFormat sniff(ResumeSource source) throws IOException {
+        try (InputStream stream = source.openStream()) {
+            byte[] head = stream.readNBytes(DocumentFormat.SNIFF_LENGTH);
+            return DocumentFormat.sniff(head, head.length);
+        }
+    }
+
+    static String pdf(InputStream stream, int maxChars) throws IOException {
+        try (PDDocument document = PDDocument.load(stream, MemoryUsageSetting.setupMixed(PDF_MAX_MAIN_MEMORY))) {
+            LimitedWriter text = new LimitedWriter(maxChars);
+            try {
+                PDFTextStripper stripper = new PDFTextStripper();
+                // Matches Tika's default; the overlap check roughly doubles extraction time
+                stripper.setSuppressDuplicateOverlappingText(false);
+                stripper.writeText(document, text);
+            } catch (LimitedWriter.LimitReached e) {
+                // Keep what was extracted so far, as Tika's write limit does
+            }
+            return text.toString();
+        }
+    }
+
+    static String tika(InputStream stream, Metadata metadata, int maxChars) throws Exception {
+        LimitedWriter text = new LimitedWriter(maxChars);
+        try {
+            TikaHolder.TIKA.getParser().parse(stream, new BodyContentHandler(text), metadata, new ParseContext());
+        } catch (Exception e) {
+            // Tika wraps writer failures in its own exceptions
+            if (!text.limitReached())
+                throw e;
+        }
+        return text.toString();
+    }
+
+    /**
+     * Headers, body and footers, laid out as POI's XWPFWordExtractor does:
+     * paragraphs one per line, table cells separated by tabs and rows by
+     * line breaks. Text goes straight into the limited writer, so a huge
+     * document stops producing text at the limit instead of being turned
+     * into one string first.
+     */
+    static String docx(InputStream stream, int maxChars) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(stream)) {
+            LimitedWriter text = new LimitedWriter(maxChars);
+            try {
+                for (XWPFHeader header : document.getHeaderList()) {
+                    writeBody(header.getBodyElements(), text);
+                }
+                writeBody(document.getBodyElements(), text);
+                for (XWPFFooter footer : document.getFooterList()) {
+                    writeBody(footer.getBodyElements(), text);
+                }
+            } catch (LimitedWriter.LimitReached e) {
+                // Keep what was extracted so far, as for PDF
+            }
+            return text.toString();
+        }
+    }
+
+    private static void writeBody(List<IBodyElement> elements, Writer text) throws IOException {
+        for (IBodyElement element : elements) {
+            if (element instanceof XWPFParagraph paragraph) {
+                String line = paragraph.getText();
+                if (!line.isEmpty()) {
+                    text.write(line);
+                }
+                text.write('\n');
+            } else if (element instanceof XWPFTable table) {
+                for (XWPFTableRow row : table.getRows()) {
+                    List<XWPFTableCell> cells = row.getTableCells();
+                    for (int i = 0; i < cells.size(); i++) {
+                        if (i > 0) {
+                            text.write('\t');
+                        }
+                        writeCell(cells.get(i), text);
+                    }
+                    text.write('\n');
+                }
+                text.write('\n');
+            } else if (element instanceof XWPFSDT control) {
+                text.write(control.getContent().getText());
+                text.write('\n');
+            }
+        }
+    }
+
+    // A cell's paragraphs on one line, as the table layout needs; nested tables are flattened into it
+    private static void writeCell(XWPFTableCell cell, Writer text) throws IOException {
+        boolean first = true;
+        for (IBodyElement element : cell.getBodyElements()) {
+            if (!first) {
+                text.write(' ');
+            }
+            first = false;
+            if (element instanceof XWPFParagraph paragraph) {
+                text.write(paragraph.getText());
+            } else if (element instanceof XWPFTable nested) {
+                text.write(nested.getText().replace('\n', ' '));
+            } else if (element instanceof XWPFSDT control) {
+                text.write(control.getContent().getText());
+            }
+        }
+    }
+
+    /**
+     * Decodes plain text as UTF-8 (or UTF-16 with a byte order mark), falling
+     * back to Windows-1252 when the bytes are not valid UTF-8. The text is
+     * decoded straight from the upload stream into the result.
+     */
+    static String text(ResumeSource source, int maxChars) throws IOException {
+        try {
+            return decode(source, null, maxChars);
+        } catch (CharacterCodingException e) {
+            return decode(source, WINDOWS_1252, maxChars);
+        }
+    }
+
+    private static String decode(ResumeSource source, Charset fallback, int maxChars) throws IOException {
+        try (InputStream raw = source.openStream()) {
+            BufferedInputStream stream = new BufferedInputStream(raw);
+            Charset charset = fallback != null ? fallback : readByteOrderMark(stream);
+            // Strict for the UTF guess so bad bytes trigger the fallback; lenient for the fallback itself
+            CodingErrorAction onError = fallback != null ? CodingErrorAction.REPLACE : CodingErrorAction.REPORT;
+            Reader reader = new InputStreamReader(stream, charset.newDecoder()
+                    .onMalformedInput(onError)
+                    .onUnmappableCharacter(onError));
+
+            StringBuilder text = new StringBuilder();
+            char[] buffer = new char[8192];
+            int read;
+            while (text.length() < maxChars
+                    && (read = reader.read(buffer, 0, Math.min(buffer.length, maxChars - text.length()))) != -1) {
+                text.append(buffer, 0, read);
+                checkInterrupted();
+            }
+            return text.toString();
+        }
+    }
+
+    // Consumes a byte order mark if there is one and returns the charset it implies
+    private static Charset readByteOrderMark(BufferedInputStream stream) throws IOException {
+        stream.mark(3);
+        int b0 = stream.read();
+        int b1 = stream.read();
+        if (b0 == 0xFE && b1 == 0xFF)
+            return StandardCharsets.UTF_16BE;
+        if (b0 == 0xFF && b1 == 0xFE)
+            return StandardCharsets.UTF_16LE;
+        if (b0 == 0xEF && b1 == 0xBB && stream.read() == 0xBF)
+            return StandardCharsets.UTF_8;
+        stream.reset();
+        return StandardCharsets.UTF_8;
+    }
+
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted())
+            throw new InterruptedIOException("Parsing was cancelled");
+    }
+
+    /**
+     * Collects text up to a limit, then stops the producer by throwing.
+     */
+    private static final class LimitedWriter extends Writer {
+
+        static final class LimitReached extends IOException {
+            LimitReached() {
+                super(null, null);
+            }
+        }
+
+        private final StringBuilder text = new StringBuilder();
+        private final int limit;
+        private boolean limitReached;
+
+        LimitedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            checkInterrupted();
+            int room = limit - text.length();
+            text.append(chars, offset, Math.min(room, length));
+            if (length > room) {
+                limitReached = true;
+                throw new LimitReached();
+            }
+        }
+
+        @Override
+        public void write(String chars, int offset, int length) throws IOException {
+            checkInterrupted();
+            int room = limit - text.length();
+            text.append(chars, offset, offset + Math.min(room, length));
+            if (length > room) {
+                limitReached = true;
+                throw new LimitReached();
+            }
+        }
+
+        boolean limitReached() {
+            return limitReached;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    // Full Tika loads its detector and every parser in the standard package,
+    // so it is only initialised the first time a document needs it
+    private static final class TikaHolder {
+        static final Tika TIKA = new Tika();
+    }
+}
@@ -0,0 +1,73 @@
+package com.atschecker.parser;
+
+/**
+ * Resume formats with a dedicated extractor, recognised from the first bytes
+ * of the file rather than its name or declared content type.
+ */
+public enum DocumentFormat {
+    PDF("application/pdf"),
+    // Any ZIP container; only DOCX is extracted directly, other OOXML/ODF files fall back to Tika
+    DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document"),
+    TEXT("text/plain"),
+    OTHER("application/octet-stream");
+
+    // Enough to tell text from binary without reading the whole file
+    public static final int SNIFF_LENGTH = 8192;
+
+    private final String mimeType;
+
+    DocumentFormat(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public String mimeType() {
+        return mimeType;
+    }
+
+    public static DocumentFormat sniff(byte[] head, int length) {
+        if (startsWith(head, length, '%', 'P', 'D', 'F', '-'))
+            return PDF;
+        if (startsWith(head, length, 'P', 'K', 3, 4))
+            return DOCX;
+        if (length > 0 && looksLikeText(head, length))
+            return TEXT;
+        return OTHER;
+    }
+
+    private static boolean startsWith(byte[] head, int length, int... magic) {
+        if (length < magic.length)
+            return false;
+        for (int i = 0; i < magic.length; i++) {
+            if (head[i] != (byte) magic[i])
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean looksLikeText(byte[] head, int length) {
+        // UTF-16 text is full of NULs, so trust its byte order mark
+        if (startsWith(head, length, 0xFE, 0xFF) || startsWith(head, length, 0xFF, 0xFE))
+            return true;
+
+        int control = 0;
+        for (int i = 0; i < length; i++) {
+            int b = head[i] & 0xFF;
+            if (b == 0)
+                return false;
+            if (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f')
+                control++;
+        }
+        return control * 20 < length && !isMarkup(head, length);
+    }
+
+    // RTF, HTML and XML are text on the wire but need a real parser
+    private static boolean isMarkup(byte[] head, int length) {
+        int i = 0;
+        if (startsWith(head, length, 0xEF, 0xBB, 0xBF))
+            i = 3;
+        while (i < length && Character.isWhitespace(head[i])) {
+            i++;
+        }
+        return i < length && (head[i] == '<' || head[i] == '{');
+    }
+}
@@ -0,0 +1,182 @@
+package com.atschecker.parser;
+
+import org.apache.tika.metadata.Metadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs text extraction in child JVMs ({@link ParseWorker}), so a parser that
+ * crashes, runs out of memory or never returns only takes its worker down.
+ * Workers are started on demand, reused while healthy, and killed when a
+ * document exceeds its timeout; the next request starts a fresh one.
+ */
+class ForkedParserPool implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ForkedParserPool.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final List<String> command;
+    private final Duration timeout;
+    private final ScheduledExecutorService watchdog;
+    private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+
+    ForkedParserPool(String maxHeap, Duration timeout, ScheduledExecutorService watchdog) {
+        this.command = workerCommand(maxHeap);
+        this.timeout = timeout;
+        this.watchdog = watchdog;
+    }
+
+    /**
+     * Extracts the text of one document in a worker process. Callers are the
+     * parse pool's threads, so there are never more workers than threads.
+     */
+    String extract(ResumeSource source, Metadata metadata, int maxChars) throws IOException {
+        Path file = source.path();
+        Path spooled = null;
+        if (file == null) {
+            // The worker reads from disk; copy in-memory uploads to a temp file
+            spooled = Files.createTempFile("ats-parse-", ".bin");
+            try (InputStream stream = source.openStream()) {
+                Files.copy(stream, spooled, StandardCopyOption.REPLACE_EXISTING);
+            }
+            file = spooled;
+        }
+
+        Worker worker = idle.poll();
+        if (worker == null || !worker.process.isAlive()) {
+            worker = start();
+        }
+        boolean reusable = false;
+        ScheduledFuture<?> kill = watchdog.schedule(worker::kill, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            worker.in.writeUTF(file.toAbsolutePath().toString());
+            worker.in.writeInt(maxChars);
+            worker.in.flush();
+
+            if (!worker.out.readBoolean()) {
+                reusable = true;
+                throw new IOException(worker.out.readUTF());
+            }
+            String type = worker.out.readUTF();
+            byte[] text = worker.out.readNBytes(worker.out.readInt());
+            if (!type.isEmpty()) {
+                metadata.set(Metadata.CONTENT_TYPE, type);
+            }
+            reusable = true;
+            return new String(text, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // A killed worker shows up as a closed pipe on either side
+            if (worker.killed.get())
+                throw new ParseTimeoutException(timeout);
+            if (e instanceof EOFException)
+                throw new IOException("Parser process exited unexpectedly (exit code " + exitCode(worker) + ")");
+            throw e;
+        } finally {
+            kill.cancel(false);
+            if (reusable && !worker.killed.get()) {
+                idle.offer(worker);
+            } else {
+                worker.kill();
+            }
+            if (spooled != null) {
+                Files.deleteIfExists(spooled);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        Worker worker;
+        while ((worker = idle.poll()) != null) {
+            worker.kill();
+        }
+    }
+
+    private Worker start() throws IOException {
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        log.debug("Started parse worker pid {}", process.pid());
+        Worker worker = new Worker(process);
+        // Wait for the worker JVM to come up before its first document's clock starts
+        ScheduledFuture<?> kill = watchdog.schedule(worker::kill, STARTUP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        int ready;
+        try {
+            ready = worker.out.read();
+        } finally {
+            kill.cancel(false);
+        }
+        if (ready != ParseWorker.READY) {
+            boolean timedOut = worker.killed.get();
+            worker.kill();
+            throw new IOException(timedOut
+                    ? "Parser process did not start within " + STARTUP_TIMEOUT.toSeconds() + "s"
+                    : "Parser process failed to start (exit code " + exitCode(worker) + ")");
+        }
+        return worker;
+    }
+
+    private static int exitCode(Worker worker) {
+        try {
+            return worker.process.waitFor(5, TimeUnit.SECONDS) ? worker.process.exitValue() : -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static List<String> workerCommand(String maxHeap) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + maxHeap);
+        // Exit instead of limping on after an OutOfMemoryError; the parent starts a new worker
+        command.add("-XX:+ExitOnOutOfMemoryError");
+
+        String classPath = System.getProperty("java.class.path");
+        command.add("-cp");
+        command.add(classPath);
+        if (isBootJar(classPath)) {
+            // Executable jar: let Boot's launcher set up the nested classpath
+            command.add("-Dloader.main=" + ParseWorker.class.getName());
+            command.add("org.springframework.boot.loader.launch.PropertiesLauncher");
+        } else {
+            command.add(ParseWorker.class.getName());
+        }
+        return command;
+    }
+
+    private static boolean isBootJar(String classPath) {
+        return classPath.endsWith(".jar") && !classPath.contains(File.pathSeparator);
+    }
+
+    private static final class Worker {
+        final Process process;
+        final DataOutputStream in;
+        final DataInputStream out;
+        final AtomicBoolean killed = new AtomicBoolean();
+
+        Worker(Process process) {
+            this.process = process;
+            this.in = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            this.out = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+
+        void kill() {
+            killed.set(true);
+            process.destroyForcibly();
+        }
+    }
+}
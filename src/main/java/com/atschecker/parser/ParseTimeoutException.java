@@ -0,0 +1,18 @@
+package com.atschecker.parser;
+
+import java.time.Duration;
+
+/**
+ * Parsing was cancelled after running longer than the per-document limit.
+ */
+public class ParseTimeoutException extends ResumeParseException {
+
+    public ParseTimeoutException(Duration timeout) {
+        super("Parsing took longer than " + describe(timeout)
+                + " and was cancelled. The file may be too large or complex.");
+    }
+
+    private static String describe(Duration timeout) {
+        return timeout.toMillis() % 1000 == 0 ? timeout.toSeconds() + "s" : timeout.toMillis() + "ms";
+    }
+}
@@ -0,0 +1,60 @@
+package com.atschecker.parser;
+
+import org.apache.tika.metadata.Metadata;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+/**
+ * Entry point of a forked parse process (see {@link ForkedParserPool}).
+ *
+ * Writes one byte to stdout once started, so JVM startup isn't charged to the
+ * first document's timeout. Then reads requests from stdin, one at a time: file path (UTF) and character
+ * limit (int). Answers on stdout with a success flag, then either the content
+ * type (UTF) and the text (int length + UTF-8 bytes), or an error message.
+ * Anything else the libraries print goes to stderr.
+ */
+public final class ParseWorker {
+
+    static final int READY = 0x52;
+
+    private ParseWorker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(System.err);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+        out.writeByte(READY);
+        out.flush();
+
+        while (true) {
+            String path;
+            int maxChars;
+            try {
+                path = in.readUTF();
+                maxChars = in.readInt();
+            } catch (EOFException e) {
+                // Parent closed the pipe
+                return;
+            }
+
+            Metadata metadata = new Metadata();
+            try {
+                String text = DocumentExtractors.extract(ResumeSource.of(path, Paths.get(path)), metadata, maxChars);
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                String type = metadata.get(Metadata.CONTENT_TYPE);
+                out.writeBoolean(true);
+                out.writeUTF(type != null ? type : "");
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } catch (Exception e) {
+                String message = String.valueOf(e.getMessage());
+                out.writeBoolean(false);
+                out.writeUTF(message.length() > 1000 ? message.substring(0, 1000) : message);
+            }
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.atschecker.parser;
+
+/**
+ * Text extracted from a resume, with the SHA-256 of the uploaded bytes that
+ * identifies the resume across requests.
+ */
+public record ParsedResume(String digest, String text) {
+}
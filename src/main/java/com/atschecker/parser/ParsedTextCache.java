@@ -0,0 +1,289 @@
+package com.atschecker.parser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Extracted resume text keyed by the SHA-256 of the uploaded bytes, so the same
+ * file submitted against many job descriptions is only parsed once.
+ * The in-memory tier is a Caffeine (W-TinyLFU) cache bounded by the estimated
+ * heap size of the cached text. An optional on-disk tier keeps entries across
+ * restarts, bounded by its own size limit; when a write takes it over the
+ * limit the least recently used files are deleted. Both tiers honour the same TTL.
+ * Hits, misses and evictions are published as the "parsed-text" cache metrics.
+ */
+@Component
+public class ParsedTextCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ParsedTextCache.class);
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Path diskDir;
+    private final long maxDiskBytes;
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final Cache<String, String> memory;
+    private final AtomicLong diskHits = new AtomicLong();
+
+    public ParsedTextCache(@Value("${ats.parse-cache.enabled:true}") boolean enabled,
+            @Value("${ats.parse-cache.max-memory:64MB}") DataSize maxMemory,
+            @Value("${ats.parse-cache.ttl:6h}") Duration ttl,
+            @Value("${ats.parse-cache.disk-dir:}") String diskDir,
+            @Value("${ats.parse-cache.max-disk:256MB}") DataSize maxDisk) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.diskDir = enabled && !diskDir.isBlank() ? Paths.get(diskDir) : null;
+        this.maxDiskBytes = maxDisk.toBytes();
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((String digest, String text) -> estimateBytes(text))
+                .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+
+        if (this.diskDir != null) {
+            initDiskTier();
+        }
+    }
+
+    /**
+     * Hex SHA-256 of the uploaded bytes, read in chunks so large uploads are
+     * never held in memory.
+     */
+    public static String digest(InputStream content) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            sha256.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    /**
+     * Returns the cached text for the digest, or null on a miss in both tiers.
+     */
+    public String get(String digest) {
+        if (!enabled)
+            return null;
+
+        String text = memory.getIfPresent(digest);
+        if (text != null || diskDir == null)
+            return text;
+
+        text = readFromDisk(digest);
+        if (text != null) {
+            diskHits.incrementAndGet();
+            memory.put(digest, text);
+        }
+        return text;
+    }
+
+    public void put(String digest, String text) {
+        if (!enabled)
+            return;
+
+        memory.put(digest, text);
+        if (diskDir != null) {
+            writeToDisk(digest, text);
+        }
+    }
+
+    /**
+     * Hit, miss and eviction counts of the in-memory tier.
+     */
+    public CacheStats stats() {
+        return memory.stats();
+    }
+
+    /**
+     * Memory misses that were served from the on-disk tier.
+     */
+    public long diskHitCount() {
+        return diskHits.get();
+    }
+
+    /**
+     * Bytes currently held by the on-disk tier.
+     */
+    public long diskUsageBytes() {
+        return diskBytes.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, memory, "parsed-text");
+        FunctionCounter.builder("ats.parse-cache.disk.hits", diskHits, AtomicLong::get)
+                .description("Parsed-text lookups served from the on-disk tier")
+                .register(registry);
+        if (diskDir != null) {
+            Gauge.builder("ats.parse-cache.disk.size", diskBytes, AtomicLong::get)
+                    .description("Bytes held by the parsed-text on-disk tier")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+
+    private void initDiskTier() {
+        try {
+            Files.createDirectories(diskDir);
+            // Drop entries that expired while the service was down, and temp
+            // files left by a crash mid-write
+            try (Stream<Path> files = Files.list(diskDir)) {
+                files.filter(file -> file.toString().endsWith(".tmp") || isExpired(file))
+                        .forEach(this::deleteQuietly);
+            }
+            diskBytes.set(listEntries().stream().mapToLong(DiskEntry::size).sum());
+            if (diskBytes.get() > maxDiskBytes) {
+                evictFromDisk();
+            }
+        } catch (IOException e) {
+            log.warn("Parsed-text disk cache at {} is not usable: {}", diskDir, e.getMessage());
+        }
+    }
+
+    private String readFromDisk(String digest) {
+        Path file = diskDir.resolve(digest + ".txt");
+        try {
+            if (!Files.exists(file))
+                return null;
+            if (isExpired(file)) {
+                deleteQuietly(file);
+                return null;
+            }
+            String text = Files.readString(file, StandardCharsets.UTF_8);
+            // The modification time doubles as the last use for eviction
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return text;
+        } catch (IOException e) {
+            log.warn("Could not read cached text {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String digest, String text) {
+        Path file = diskDir.resolve(digest + ".txt");
+        try {
+            // Write then rename so a crash never leaves a truncated entry behind
+            Path tmp = Files.createTempFile(diskDir, digest, ".tmp");
+            Files.writeString(tmp, text, StandardCharsets.UTF_8);
+            long size = Files.size(tmp);
+            long replaced = Files.exists(file) ? Files.size(file) : 0;
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (diskBytes.addAndGet(size - replaced) > maxDiskBytes) {
+                evictFromDisk();
+            }
+        } catch (IOException e) {
+            log.warn("Could not write cached text {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes expired entries, then the least recently used ones until the
+     * tier is back under 90% of its limit, so that a full tier does not rescan
+     * the directory on every write.
+     */
+    private synchronized void evictFromDisk() {
+        if (diskBytes.get() <= maxDiskBytes)
+            return;
+
+        long target = maxDiskBytes / 10 * 9;
+        long total = 0;
+        List<DiskEntry> entries = listEntries();
+        for (DiskEntry entry : entries) {
+            total += entry.size();
+        }
+        entries.sort(Comparator.comparingLong(DiskEntry::lastUsed));
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (DiskEntry entry : entries) {
+            boolean expired = now - entry.lastUsed() > ttl.toMillis();
+            if (!expired && total <= target)
+                break;
+            deleteQuietly(entry.file());
+            total -= entry.size();
+            evicted++;
+        }
+        diskBytes.set(total);
+        log.debug("Evicted {} parsed-text entries from {}, {} bytes left", evicted, diskDir, total);
+    }
+
+    private List<DiskEntry> listEntries() {
+        try (Stream<Path> files = Files.list(diskDir)) {
+            return files.filter(file -> file.toString().endsWith(".txt"))
+                    .map(DiskEntry::of)
+                    .filter(entry -> entry != null)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            log.warn("Could not list parsed-text disk cache {}: {}", diskDir, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private boolean isExpired(Path file) {
+        try {
+            long age = System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis();
+            return age > ttl.toMillis();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete expired cache entry {}", file);
+        }
+    }
+
+    private record DiskEntry(Path file, long size, long lastUsed) {
+
+        // Null when the file disappeared while listing
+        static DiskEntry of(Path file) {
+            try {
+                return new DiskEntry(file, Files.size(file), Files.getLastModifiedTime(file).toMillis());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private static int estimateBytes(String text) {
+        // UTF-16 worst case plus String/entry overhead
+        return 2 * text.length() + 64;
+    }
+}
@@ -0,0 +1,21 @@
+package com.atschecker.parser;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Every parse worker is busy and the queue is full; the request can be retried.
+ */
+public class ParserBusyException extends IOException {
+
+    private final Duration retryAfter;
+
+    public ParserBusyException(Duration retryAfter) {
+        super("The server is busy parsing other resumes. Please retry shortly.");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,115 @@
+package com.atschecker.parser;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The resumes of one batch request, either the uploaded parts or the entries
+ * of a ZIP archive. Archive entries above the spool threshold are written to a
+ * temporary directory instead of the heap; closing the batch removes it.
+ */
+public final class ResumeBatch implements Closeable {
+
+    private final List<ResumeSource> resumes;
+    private final Path spoolDir;
+
+    private ResumeBatch(List<ResumeSource> resumes, Path spoolDir) {
+        this.resumes = Collections.unmodifiableList(resumes);
+        this.spoolDir = spoolDir;
+    }
+
+    public static ResumeBatch fromFiles(List<MultipartFile> files) {
+        return new ResumeBatch(files.stream().map(ResumeSource::of).collect(Collectors.toList()), null);
+    }
+
+    /**
+     * Reads one source per file entry, skipping directories and OS metadata.
+     * At most {@code maxEntryBytes + 1} bytes of an entry are copied, so an
+     * oversized file is reported as such without inflating a zip bomb.
+     */
+    public static ResumeBatch fromArchive(InputStream archive, int maxEntries, long maxEntryBytes,
+            long spoolThreshold) throws IOException {
+        List<ResumeSource> resumes = new ArrayList<>();
+        Path spoolDir = null;
+        byte[] buffer = new byte[8192];
+
+        try (ZipInputStream zip = new ZipInputStream(archive)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (entry.isDirectory() || isMetadata(name))
+                    continue;
+                if (resumes.size() == maxEntries) {
+                    throw new IllegalArgumentException("Archive contains more than " + maxEntries + " resumes");
+                }
+                String fileName = name.substring(name.lastIndexOf('/') + 1);
+
+                ByteArrayOutputStream head = new ByteArrayOutputStream();
+                int read = 0;
+                while (head.size() <= spoolThreshold && (read = zip.read(buffer)) != -1) {
+                    head.write(buffer, 0, read);
+                }
+                if (read == -1) {
+                    resumes.add(ResumeSource.of(fileName, head.toByteArray()));
+                    continue;
+                }
+
+                // Larger than the threshold: continue the copy on disk
+                if (spoolDir == null) {
+                    spoolDir = Files.createTempDirectory("resume-batch-");
+                }
+                Path spooled = Files.createTempFile(spoolDir, "entry-", ".bin");
+                try (OutputStream out = Files.newOutputStream(spooled)) {
+                    head.writeTo(out);
+                    long copied = head.size();
+                    while (copied <= maxEntryBytes && (read = zip.read(buffer)) != -1) {
+                        out.write(buffer, 0, read);
+                        copied += read;
+                    }
+                }
+                resumes.add(ResumeSource.of(fileName, spooled));
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteSpool(spoolDir);
+            throw e;
+        }
+        return new ResumeBatch(resumes, spoolDir);
+    }
+
+    public List<ResumeSource> resumes() {
+        return resumes;
+    }
+
+    @Override
+    public void close() {
+        deleteSpool(spoolDir);
+    }
+
+    private static void deleteSpool(Path spoolDir) {
+        if (spoolDir == null)
+            return;
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(spoolDir);
+        } catch (IOException e) {
+            spoolDir.toFile().deleteOnExit();
+        }
+    }
+
+    private static boolean isMetadata(String name) {
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        return name.startsWith("__MACOSX/") || fileName.startsWith(".");
+    }
+}
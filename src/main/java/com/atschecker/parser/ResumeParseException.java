@@ -0,0 +1,18 @@
+package com.atschecker.parser;
+
+import java.io.IOException;
+
+/**
+ * The uploaded document could not be turned into usable resume text: it is
+ * unreadable, has too little text, or took too long to parse.
+ */
+public class ResumeParseException extends IOException {
+
+    public ResumeParseException(String message) {
+        super(message);
+    }
+
+    public ResumeParseException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
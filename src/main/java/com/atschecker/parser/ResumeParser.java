@@ -1,25 +1,258 @@
 package com.atschecker.parser;
 
-import org.apache.tika.Tika;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.apache.tika.metadata.Metadata;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Extracts resume text on a dedicated, bounded pool of parse threads.
+ *
+ * Each document gets a wall-clock timeout from the moment a parse thread picks
+ * it up; past that the parse is cancelled and the caller gets a
+ * {@link ParseTimeoutException}. Requests for a single resume fail fast with a
+ * {@link ParserBusyException} when every thread is busy and the queue is full,
+ * while batch work waits for room instead. With ats.parse.isolation=process
+ * the parse threads hand documents to forked worker JVMs, so a parser crash or
+ * OutOfMemoryError cannot take down the service.
+ */
 @Component
-public class ResumeParser {
-    private final Tika tika = new Tika();
-
-    public String parse(MultipartFile file) throws IOException {
-        try (InputStream stream = file.getInputStream()) {
-            String content = tika.parseToString(stream);
-            if (content == null || content.trim().length() < 200) {
-                throw new IOException(
-                        "Extracted text is too short (< 200 chars). This might be an image-only resume or a corrupted file.");
+public class ResumeParser implements MeterBinder {
+    private final ParsedTextCache cache;
+
+    // Extraction stops after this many characters, bounding heap use per document
+    private final int maxChars;
+    private final Duration timeout;
+    private final Duration retryAfter;
+
+    // Text extraction is CPU-bound: however many (virtual) threads are waiting
+    // on uploads, only the pool's threads parse at once
+    private final ThreadPoolExecutor parsePool;
+    // Documents running or queued on the pool
+    private final Semaphore admission;
+    private final ScheduledExecutorService watchdog;
+    private final ForkedParserPool forkedParsers;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter tooShortFailures;
+    private final Counter unreadableFailures;
+    private final Counter timeoutFailures;
+    private final Counter rejections;
+
+    public ResumeParser(ParsedTextCache cache, MeterRegistry meterRegistry,
+            @Value("${ats.parse.max-concurrency:0}") int maxConcurrency,
+            @Value("${ats.parse.max-chars:500000}") int maxChars,
+            @Value("${ats.parse.queue-capacity:64}") int queueCapacity,
+            @Value("${ats.parse.timeout:30s}") Duration timeout,
+            @Value("${ats.parse.retry-after:5s}") Duration retryAfter,
+            @Value("${ats.parse.isolation:thread}") String isolation,
+            @Value("${ats.parse.worker-max-heap:512m}") String workerMaxHeap) {
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        this.maxChars = maxChars;
+        this.timeout = timeout;
+        this.retryAfter = retryAfter;
+        this.tooShortFailures = failureCounter(meterRegistry, "too_short");
+        this.unreadableFailures = failureCounter(meterRegistry, "unreadable");
+        this.timeoutFailures = failureCounter(meterRegistry, "timeout");
+        this.rejections = Counter.builder("ats.parse.rejected")
+                .description("Resumes turned away because the parse queue was full")
+                .register(meterRegistry);
+
+        int threads = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.parsePool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> daemon(runnable, "parse-" + counter.incrementAndGet()));
+        this.admission = new Semaphore(threads + queueCapacity, true);
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1,
+                runnable -> daemon(runnable, "parse-watchdog"));
+        timer.setRemoveOnCancelPolicy(true);
+        this.watchdog = timer;
+
+        if (isolation.equals("process")) {
+            this.forkedParsers = new ForkedParserPool(workerMaxHeap, timeout, watchdog);
+        } else if (isolation.equals("thread")) {
+            this.forkedParsers = null;
+        } else {
+            throw new IllegalArgumentException("ats.parse.isolation must be 'thread' or 'process', not " + isolation);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(parsePool, "parse", Tags.empty()).bindTo(registry);
+    }
+
+    public ParsedResume parse(MultipartFile file) throws IOException {
+        return parse(ResumeSource.of(file));
+    }
+
+    /**
+     * Parses a resume for an interactive request, failing with
+     * {@link ParserBusyException} when the parse queue is full.
+     */
+    public ParsedResume parse(ResumeSource source) throws IOException {
+        return parse(source, false);
+    }
+
+    /**
+     * Parses a resume for batch work, waiting for room in the parse queue
+     * instead of failing.
+     */
+    public ParsedResume parseQueued(ResumeSource source) throws IOException {
+        return parse(source, true);
+    }
+
+    private ParsedResume parse(ResumeSource source, boolean waitForRoom) throws IOException {
+        // Same bytes, same text: skip extraction for files we have already parsed
+        String digest;
+        try (InputStream stream = source.openStream()) {
+            digest = ParsedTextCache.digest(stream);
+        }
+        String cached = cache.get(digest);
+        if (cached != null) {
+            return new ParsedResume(digest, cached);
+        }
+
+        String text = extract(source, waitForRoom);
+        cache.put(digest, text);
+        return new ParsedResume(digest, text);
+    }
+
+    private String extract(ResumeSource source, boolean waitForRoom) throws IOException {
+        admit(source, waitForRoom);
+
+        Metadata metadata = new Metadata();
+        FutureTask<String> task = new FutureTask<>(() -> forkedParsers != null
+                ? forkedParsers.extract(source, metadata, maxChars)
+                : DocumentExtractors.extract(source, metadata, maxChars));
+        try {
+            parsePool.execute(() -> {
+                // The clock starts when a parse thread picks the document up, not while it is queued
+                ScheduledFuture<?> deadline = watchdog.schedule(() -> task.cancel(true), timeout.toMillis(),
+                        TimeUnit.MILLISECONDS);
+                try {
+                    task.run();
+                } finally {
+                    deadline.cancel(false);
+                    admission.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            throw new ParserBusyException(retryAfter);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            String text = task.get();
+            if (text == null || text.trim().length() < 200) {
+                outcome = "too_short";
+                tooShortFailures.increment();
+                throw new ResumeParseException(
+                        "Failed to parse file: Extracted text is too short (< 200 chars). This might be an image-only resume or a corrupted file.");
+            }
+            return text;
+        } catch (CancellationException e) {
+            outcome = "timeout";
+            timeoutFailures.increment();
+            throw new ParseTimeoutException(timeout);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ParseTimeoutException) {
+                outcome = "timeout";
+                timeoutFailures.increment();
+                throw (ParseTimeoutException) cause;
             }
-            return content;
-        } catch (Exception e) {
-            throw new IOException("Failed to parse file: " + e.getMessage(), e);
+            outcome = "unreadable";
+            unreadableFailures.increment();
+            throw new ResumeParseException("Failed to parse file: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            outcome = "cancelled";
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing " + source.name());
+        } finally {
+            sample.stop(Timer.builder("ats.parse")
+                    .description("Text extraction time including any wait for a parse thread, excluding cache hits")
+                    .tag("mime", mimeType(metadata))
+                    .tag("size", sizeBucket(source.size()))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
+
+    private void admit(ResumeSource source, boolean waitForRoom) throws IOException {
+        if (!waitForRoom) {
+            if (!admission.tryAcquire()) {
+                rejections.increment();
+                throw new ParserBusyException(retryAfter);
+            }
+            return;
+        }
+        try {
+            admission.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to parse " + source.name());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        parsePool.shutdownNow();
+        watchdog.shutdownNow();
+        if (forkedParsers != null) {
+            forkedParsers.close();
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static Counter failureCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("ats.parse.failures")
+                .description("Resumes rejected during text extraction")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static String mimeType(Metadata metadata) {
+        // Tika records the detected type; drop parameters such as charset
+        String type = metadata.get(Metadata.CONTENT_TYPE);
+        if (type == null)
+            return "unknown";
+        int semicolon = type.indexOf(';');
+        return (semicolon < 0 ? type : type.substring(0, semicolon)).trim();
+    }
+
+    // Coarse buckets keep the tag's cardinality fixed
+    private static String sizeBucket(long bytes) {
+        if (bytes < 0)
+            return "unknown";
+        if (bytes < 100 * 1024)
+            return "<100KB";
+        if (bytes < 1024 * 1024)
+            return "<1MB";
+        if (bytes < 5 * 1024 * 1024)
+            return "<5MB";
+        return ">=5MB";
+    }
 }
@@ -0,0 +1,94 @@
+package com.atschecker.parser;
+
+import org.springframework.web.multipart.MultipartFile;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A resume document that can be opened more than once: once to compute its
+ * content digest and again to extract text on a cache miss.
+ */
+public interface ResumeSource {
+
+    String name();
+
+    long size();
+
+    InputStream openStream() throws IOException;
+
+    /**
+     * The file holding the content, or null when it is not on disk.
+     */
+    default Path path() {
+        return null;
+    }
+
+    static ResumeSource of(MultipartFile file) {
+        return new ResumeSource() {
+            @Override
+            public String name() {
+                return file.getOriginalFilename();
+            }
+
+            @Override
+            public long size() {
+                return file.getSize();
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                return file.getInputStream();
+            }
+        };
+    }
+
+    static ResumeSource of(String name, byte[] content) {
+        return new ResumeSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public long size() {
+                return content.length;
+            }
+
+            @Override
+            public InputStream openStream() {
+                return new ByteArrayInputStream(content);
+            }
+        };
+    }
+
+    static ResumeSource of(String name, Path file) {
+        return new ResumeSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public long size() {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    return 0;
+                }
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                return Files.newInputStream(file);
+            }
+
+            @Override
+            public Path path() {
+                return file;
+            }
+        };
+    }
+}
@@ -1,87 +1,86 @@
 package com.atschecker.scorer;
 
+import com.atschecker.analyzer.JobProfile;
+import com.atschecker.document.ResumeDocument;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
+/**
+ * Combines the document score from the {@link DocumentSignal}s with the
+ * job-specific points of the configured {@link ScoringModel}.
+ */
 @Component
 public class AtsScorer {
 
-    public int calculateScore(int matchedCount, int totalCount, String resumeText, List<String> warnings) {
-        if (totalCount == 0)
-            return 0;
-
-        // 1. Skill Match Score (50)
-        double skillMatchScore = ((double) matchedCount / totalCount) * 50;
-
-        // 2. Section Completeness (25)
-        double sectionScore = calculateSectionScore(resumeText, warnings);
-
-        // 3. Formatting Quality (15)
-        double formattingScore = calculateFormattingScore(resumeText, warnings);
-
-        // 4. Keyword Frequency/Density (10)
-        // Deterministic: if more than 5 keywords match, give full 10 points
-        double frequencyScore = (matchedCount >= 5) ? 10 : (matchedCount * 2.0);
-
-        int finalScore = (int) (skillMatchScore + sectionScore + formattingScore + frequencyScore);
-        return Math.min(100, Math.max(0, finalScore));
+    private final DocumentSignal[] signals;
+    private final ScoringModel model;
+    private final SkillStatistics statistics;
+    // Job vectors per compiled profile; weak keys, so they go when the profile is evicted
+    private final Cache<JobProfile, JobVector> vectors = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(10_000)
+            .build();
+
+    public AtsScorer(List<DocumentSignal> signals, List<ScoringModel> models, SkillStatistics statistics,
+            @Value("${ats.scoring.model:" + CountScoringModel.NAME + "}") String modelName) {
+        this.signals = signals.toArray(new DocumentSignal[0]);
+        this.model = models.stream()
+                .filter(candidate -> candidate.name().equals(modelName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown ats.scoring.model '" + modelName
+                        + "'; available: " + models.stream().map(ScoringModel::name).collect(Collectors.joining(", "))));
+        this.statistics = statistics;
     }
 
-    private double calculateSectionScore(String text, List<String> warnings) {
-        String lowerText = text.toLowerCase();
-
-        int foundMajorSections = 0;
-        if (containsAny(lowerText, "experience", "work experience", "employment"))
-            foundMajorSections++;
-        if (containsAny(lowerText, "education", "academic"))
-            foundMajorSections++;
-        if (containsAny(lowerText, "skills", "technical skills"))
-            foundMajorSections++;
-        if (containsAny(lowerText, "projects"))
-            foundMajorSections++;
-        if (containsAny(lowerText, "contact", "email", "phone"))
-            foundMajorSections++;
-
-        if (foundMajorSections < 4) {
-            warnings.add("Common resume sections (Experience, Education, Skills) were not clearly detected.");
-        }
-
-        return (foundMajorSections / 5.0) * 25;
+    public ScoringModel getModel() {
+        return model;
     }
 
-    private double calculateFormattingScore(String text, List<String> warnings) {
-        double score = 15;
-
-        // Excess symbols check
-        long symbolCount = text.chars().filter(ch -> !Character.isLetterOrDigit(ch) && !Character.isWhitespace(ch))
-                .count();
-        if (symbolCount > text.length() * 0.1) {
-            warnings.add("Excessive special characters/symbols detected. This can confuse ATS parsers.");
-            score -= 5;
-        }
+    /**
+     * Scores a resume against a job profile. {@code skillCounts} holds the
+     * resume's mentions of each skill, by skill id of the profile's dictionary.
+     */
+    public int score(JobProfile profile, int[] skillCounts, double documentScore) {
+        return model.score(vectorFor(profile), skillCounts, documentScore);
+    }
 
-        // Low text density check (if many line breaks relative to text)
-        String[] lines = text.split("\n");
-        if (lines.length > text.length() / 20) {
-            warnings.add("Too many line breaks detected. Ensure your layout isn't overly fragmented.");
-            score -= 3;
-        }
+    /**
+     * Scores against a vector fetched once with {@link #vectorFor}, for
+     * ranking many resumes against the same job.
+     */
+    public int score(JobVector job, int[] skillCounts, double documentScore) {
+        return model.score(job, skillCounts, documentScore);
+    }
 
-        // Minimal length check
-        if (text.length() < 300) {
-            warnings.add("Extracted text length is very low. Ensure your document is text-based and not an image.");
-            score -= 7;
+    /**
+     * The profile's job vector, computed on first use and again when the
+     * model considers it out of date.
+     */
+    public JobVector vectorFor(JobProfile profile) {
+        SkillStatistics.Corpus corpus = statistics.corpus(profile.getDictionary());
+        JobVector vector = vectors.getIfPresent(profile);
+        if (vector == null || !model.isCurrent(vector, corpus)) {
+            vector = model.vectorize(profile, corpus);
+            vectors.put(profile, vector);
         }
-
-        return Math.max(0, score);
+        return vector;
     }
 
-    private boolean containsAny(String text, String... keywords) {
-        for (String kw : keywords) {
-            if (text.contains(kw))
-                return true;
+    /**
+     * The part of the score that depends only on the resume (up to 40 points
+     * with the standard signals), so it can be computed once and stored with
+     * the document.
+     */
+    public double calculateDocumentScore(ResumeDocument resume, List<String> warnings) {
+        // 2. Section Completeness (25) and 3. Formatting Quality (15), from the segmented document
+        double score = 0;
+        for (DocumentSignal signal : signals) {
+            score += signal.score(resume, warnings);
         }
-        return false;
+        return score;
     }
 }
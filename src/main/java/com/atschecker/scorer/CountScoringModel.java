@@ -0,0 +1,54 @@
+package com.atschecker.scorer;
+
+import com.atschecker.analyzer.JobProfile;
+import org.springframework.stereotype.Component;
+
+/**
+ * The original ATS formula: every job skill weighs the same, and only
+ * whether the resume mentions a skill counts, not how often.
+ */
+@Component
+public class CountScoringModel implements ScoringModel {
+
+    public static final String NAME = "count";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public JobVector vectorize(JobProfile profile, SkillStatistics.Corpus corpus) {
+        float[] weights = new float[profile.getDictionary().size()];
+        for (int i = 0; i < profile.keywordCount(); i++) {
+            weights[profile.keywordId(i)] = 1;
+        }
+        return new JobVector(weights, profile.keywordCount(), corpus.documentCount(), 0);
+    }
+
+    @Override
+    public int score(JobVector job, int[] skillCounts, double documentScore) {
+        if (job.keywordCount() == 0)
+            return 0;
+
+        // Weights are 0 or 1, so this is the number of job skills the resume mentions
+        float[] weights = job.weights();
+        float matched = 0;
+        for (int id = 0; id < weights.length; id++) {
+            matched += weights[id] * Math.min(skillCounts[id], 1);
+        }
+        return combine((int) matched, job.keywordCount(), documentScore);
+    }
+
+    static int combine(int matchedCount, int totalCount, double documentScore) {
+        // 1. Skill Match Score (50)
+        double skillMatchScore = ((double) matchedCount / totalCount) * 50;
+
+        // 4. Keyword Frequency/Density (10)
+        // Deterministic: if more than 5 keywords match, give full 10 points
+        double frequencyScore = (matchedCount >= 5) ? 10 : (matchedCount * 2.0);
+
+        int finalScore = (int) (skillMatchScore + documentScore + frequencyScore);
+        return Math.min(100, Math.max(0, finalScore));
+    }
+}
@@ -0,0 +1,22 @@
+package com.atschecker.scorer;
+
+import com.atschecker.document.ResumeDocument;
+import com.atschecker.document.ResumeSegmenter;
+
+import java.util.List;
+
+/**
+ * One part of the document score. Signals never walk the text themselves:
+ * they read the sections, tokens and counts that {@link ResumeSegmenter}
+ * gathered in its one pass, so adding a signal adds no pass over the resume.
+ *
+ * Declare an implementation as a bean to have {@link AtsScorer} use it;
+ * {@code @Order} decides the order of the warnings.
+ */
+public interface DocumentSignal {
+
+    /**
+     * Points earned by the document, adding a warning for each problem found.
+     */
+    double score(ResumeDocument document, List<String> warnings);
+}
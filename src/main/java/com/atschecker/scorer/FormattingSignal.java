@@ -0,0 +1,40 @@
+package com.atschecker.scorer;
+
+import com.atschecker.document.ResumeDocument;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Formatting quality (15 points), judged from whole-document counts alone.
+ */
+@Component
+@Order(2)
+public class FormattingSignal implements DocumentSignal {
+
+    @Override
+    public double score(ResumeDocument document, List<String> warnings) {
+        double score = 15;
+
+        // Excess symbols check
+        if (document.symbolCount() > document.length() * 0.1) {
+            warnings.add("Excessive special characters/symbols detected. This can confuse ATS parsers.");
+            score -= 5;
+        }
+
+        // Low text density check (if many line breaks relative to text)
+        if (document.lineCount() > document.length() / 20) {
+            warnings.add("Too many line breaks detected. Ensure your layout isn't overly fragmented.");
+            score -= 3;
+        }
+
+        // Minimal length check
+        if (document.length() < 300) {
+            warnings.add("Extracted text length is very low. Ensure your document is text-based and not an image.");
+            score -= 7;
+        }
+
+        return Math.max(0, score);
+    }
+}
@@ -0,0 +1,53 @@
+package com.atschecker.scorer;
+
+/**
+ * The job side of a {@link ScoringModel}, computed once per job profile: a
+ * weight for every skill id of the profile's dictionary, zero for skills the
+ * job doesn't ask for. Scoring a resume is then a pass over two dense arrays.
+ */
+public final class JobVector {
+
+    private final float[] weights;
+    private final float weightSum;
+    private final int keywordCount;
+    private final long documentCount;
+    private final float averageLength;
+
+    public JobVector(float[] weights, int keywordCount, long documentCount, float averageLength) {
+        this.weights = weights;
+        float sum = 0;
+        for (float weight : weights) {
+            sum += weight;
+        }
+        this.weightSum = sum;
+        this.keywordCount = keywordCount;
+        this.documentCount = documentCount;
+        this.averageLength = averageLength;
+    }
+
+    /**
+     * Weights by skill id. Shared, not copied; callers must not modify it.
+     */
+    public float[] weights() {
+        return weights;
+    }
+
+    public float weightSum() {
+        return weightSum;
+    }
+
+    public int keywordCount() {
+        return keywordCount;
+    }
+
+    /**
+     * Resumes in the corpus when the weights were computed.
+     */
+    public long documentCount() {
+        return documentCount;
+    }
+
+    public float averageLength() {
+        return averageLength;
+    }
+}
@@ -0,0 +1,35 @@
+package com.atschecker.scorer;
+
+import com.atschecker.analyzer.JobProfile;
+
+/**
+ * How a resume's skills turn into the job-specific part of the ATS score (up
+ * to 60 points: skill match and keyword frequency). The document part comes
+ * from the {@link DocumentSignal}s and is passed in.
+ *
+ * Implementations are beans; ats.scoring.model selects one by name. Scoring
+ * must not allocate, as it runs once per candidate when ranking a pool.
+ */
+public interface ScoringModel {
+
+    String name();
+
+    /**
+     * Precomputes the job's weights. {@link AtsScorer} caches the result per
+     * profile until {@link #isCurrent} says otherwise.
+     */
+    JobVector vectorize(JobProfile profile, SkillStatistics.Corpus corpus);
+
+    /**
+     * Whether a cached vector still reflects the corpus.
+     */
+    default boolean isCurrent(JobVector vector, SkillStatistics.Corpus corpus) {
+        return true;
+    }
+
+    /**
+     * Final score from 0 to 100. {@code skillCounts} holds the resume's
+     * mentions of each skill, by skill id of the profile's dictionary.
+     */
+    int score(JobVector job, int[] skillCounts, double documentScore);
+}
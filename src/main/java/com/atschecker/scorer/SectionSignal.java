@@ -0,0 +1,61 @@
+package com.atschecker.scorer;
+
+import com.atschecker.document.ResumeDocument;
+import com.atschecker.document.ResumeSegmenter;
+import com.atschecker.document.SectionKind;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Section completeness (25 points): Experience, Education, Skills, Projects
+ * and Contact, 5 points each.
+ *
+ * A section counts when {@link ResumeSegmenter} found a header for it with
+ * something under it; keywords in running text and empty headers don't
+ * count. An email address anywhere also counts as contact details.
+ */
+@Component
+@Order(1)
+public class SectionSignal implements DocumentSignal {
+
+    private static final int SCORED = bit(SectionKind.EXPERIENCE) | bit(SectionKind.EDUCATION)
+            | bit(SectionKind.SKILLS) | bit(SectionKind.PROJECTS) | bit(SectionKind.CONTACT);
+    private static final int SECTION_COUNT = Integer.bitCount(SCORED);
+
+    @Override
+    public double score(ResumeDocument document, List<String> warnings) {
+        int found = 0;
+        for (int s = 0; s < document.sectionCount(); s++) {
+            if (document.firstBodyToken(s) < document.endToken(s)) {
+                found |= bit(document.sectionKind(s));
+            }
+        }
+        if (hasEmail(document)) {
+            found |= bit(SectionKind.CONTACT);
+        }
+
+        int foundMajorSections = Integer.bitCount(found & SCORED);
+        if (foundMajorSections < 4) {
+            warnings.add("Common resume sections (Experience, Education, Skills) were not clearly detected.");
+        }
+        return (foundMajorSections / (double) SECTION_COUNT) * 25;
+    }
+
+    private static int bit(SectionKind kind) {
+        return 1 << kind.ordinal();
+    }
+
+    // "name@host": a token directly followed by '@' and another token
+    private static boolean hasEmail(ResumeDocument document) {
+        CharSequence text = document.text();
+        for (int t = 0; t < document.tokenCount(); t++) {
+            int end = document.tokenEnd(t);
+            if (end + 1 < text.length() && text.charAt(end) == '@'
+                    && Character.isLetterOrDigit(text.charAt(end + 1)))
+                return true;
+        }
+        return false;
+    }
+}
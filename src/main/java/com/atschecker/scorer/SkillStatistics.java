@@ -0,0 +1,184 @@
+package com.atschecker.scorer;
+
+import com.atschecker.util.TechnicalDictionary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Document frequencies of the skills over the distinct resumes this instance
+ * has seen, updated the first time each one is analyzed or added to the
+ * talent pool. A resume scored against many job descriptions, retried, or
+ * both analyzed and pooled still counts once.
+ *
+ * Counts are dense by skill id, so they belong to one dictionary snapshot.
+ * When the dictionary is reloaded they are carried over by skill name, and
+ * new skills start from zero. They only ever move to a newer dictionary:
+ * a request still holding a profile from an older one records into the
+ * current counts by skill name, and reads a copy of them in its own ids.
+ * The counts live in memory and start empty on every run.
+ *
+ * Which resumes have been recorded is kept in a Bloom filter of fixed size,
+ * about 1.2 bytes per resume for ats.scoring.distinct-resumes of them, so it
+ * never grows however long the instance runs. The price is that a small share
+ * of new resumes (1% at the configured count, more beyond it) are taken for
+ * ones already seen and left out of the counts; a resume is never counted
+ * twice.
+ */
+@Component
+public class SkillStatistics {
+
+    // 1% false positives takes 9.6 bits per resume, with 7 probes
+    private static final double BITS_PER_RESUME = 9.6;
+    private static final int PROBES = 7;
+
+    private volatile Corpus corpus;
+    // Recording holds the read lock, so a reload's copy never misses a resume recorded meanwhile
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Bloom filter over the leading 64 bits of each resume's SHA-256
+    private final long[] seen;
+    private final long seenBits;
+
+    public SkillStatistics(@Value("${ats.scoring.distinct-resumes:1000000}") int distinctResumes) {
+        long bits = Math.max(64, (long) Math.ceil(distinctResumes * BITS_PER_RESUME));
+        this.seen = new long[(int) ((bits + 63) / 64)];
+        this.seenBits = seen.length * 64L;
+    }
+
+    /**
+     * Records one resume, given its content digest (hex SHA-256) and per-id
+     * skill counts in the dictionary, unless a resume with that digest has
+     * already been recorded. Returns whether it was recorded.
+     */
+    public boolean observe(String digest, TechnicalDictionary dictionary, int[] skillCounts) {
+        if (!markSeen(Long.parseUnsignedLong(digest, 0, 16, 16)))
+            return false;
+        advanceTo(dictionary);
+        lock.readLock().lock();
+        try {
+            corpus.add(dictionary, skillCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return true;
+    }
+
+    // Sets the digest's bits in the filter; false if they were all set already
+    private synchronized boolean markSeen(long digest) {
+        long hash = mix(digest);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean added = false;
+        for (int i = 0; i < PROBES; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, seenBits);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((seen[word] & mask) == 0) {
+                seen[word] |= mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    // SHA-256 bits are uniform already; this spreads digests that aren't, such as counters in tests
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * The counts in the given dictionary's skill ids. A newer dictionary
+     * takes the counts over; for an older one they are copied, not moved
+     * back.
+     */
+    public Corpus corpus(TechnicalDictionary dictionary) {
+        Corpus current = advanceTo(dictionary);
+        return current.dictionary == dictionary ? current : current.migrate(dictionary);
+    }
+
+    // Moves the counts to the dictionary if it is newer than theirs, and returns the current counts
+    private Corpus advanceTo(TechnicalDictionary dictionary) {
+        Corpus current = corpus;
+        if (current != null && current.dictionary.getGeneration() >= dictionary.getGeneration())
+            return current;
+        lock.writeLock().lock();
+        try {
+            current = corpus;
+            if (current == null) {
+                corpus = current = new Corpus(dictionary);
+            } else if (current.dictionary.getGeneration() < dictionary.getGeneration()) {
+                corpus = current = current.migrate(dictionary);
+            }
+            return current;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public static final class Corpus {
+        private final TechnicalDictionary dictionary;
+        private final AtomicIntegerArray documentFrequencies;
+        private final LongAdder documents = new LongAdder();
+        // Total skill mentions, for the average document length
+        private final LongAdder mentions = new LongAdder();
+
+        private Corpus(TechnicalDictionary dictionary) {
+            this.dictionary = dictionary;
+            this.documentFrequencies = new AtomicIntegerArray(dictionary.size());
+        }
+
+        // skillCounts are by id of the given dictionary, which may be older than this one
+        private void add(TechnicalDictionary counted, int[] skillCounts) {
+            long length = 0;
+            for (int id = 0; id < skillCounts.length; id++) {
+                if (skillCounts[id] > 0) {
+                    int ownId = counted == dictionary ? id : dictionary.idOf(counted.nameOf(id));
+                    if (ownId >= 0) {
+                        documentFrequencies.incrementAndGet(ownId);
+                    }
+                    length += skillCounts[id];
+                }
+            }
+            mentions.add(length);
+            documents.increment();
+        }
+
+        private Corpus migrate(TechnicalDictionary next) {
+            Corpus migrated = new Corpus(next);
+            for (int id = 0; id < dictionary.size(); id++) {
+                int nextId = next.idOf(dictionary.nameOf(id));
+                if (nextId >= 0) {
+                    migrated.documentFrequencies.set(nextId, documentFrequencies.get(id));
+                }
+            }
+            migrated.documents.add(documents.sum());
+            migrated.mentions.add(mentions.sum());
+            return migrated;
+        }
+
+        public long documentCount() {
+            return documents.sum();
+        }
+
+        /**
+         * Resumes seen that mention the skill at least once.
+         */
+        public int documentFrequency(int skillId) {
+            return documentFrequencies.get(skillId);
+        }
+
+        /**
+         * Average skill mentions per resume, or 0 before any resume is seen.
+         */
+        public double averageLength() {
+            long count = documents.sum();
+            return count == 0 ? 0 : (double) mentions.sum() / count;
+        }
+    }
+}
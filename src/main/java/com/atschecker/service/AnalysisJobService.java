@@ -0,0 +1,33 @@
+package com.atschecker.service;
+
+import com.atschecker.dto.AnalysisJobResponse;
+import com.atschecker.jobs.JobPriority;
+import com.atschecker.parser.ResumeSource;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Background analysis: resumes are queued durably and scored by a worker pool,
+ * independent of the request that submitted them.
+ */
+public interface AnalysisJobService {
+
+    /**
+     * Queues a resume for analysis against a job description. Submitting the
+     * same resume and job description again returns the existing job, unless
+     * it failed.
+     */
+    AnalysisJobResponse submit(ResumeSource resume, String jobDescription, JobPriority priority) throws IOException;
+
+    /**
+     * The job's current state, or null if there is no such job.
+     */
+    AnalysisJobResponse find(String id);
+
+    /**
+     * Delivers the job's current state and then every change until it
+     * finishes. Returns a handle that stops delivery early, or null if there
+     * is no such job.
+     */
+    Runnable subscribe(String id, Consumer<AnalysisJobResponse> listener);
+}
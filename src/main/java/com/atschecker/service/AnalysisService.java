@@ -1,9 +1,49 @@
 package com.atschecker.service;
 
+import com.atschecker.analyzer.JobProfile;
 import com.atschecker.dto.AnalysisResponse;
+import com.atschecker.dto.BatchAnalysisResponse;
+import com.atschecker.dto.ResponseField;
+import com.atschecker.parser.ResumeSource;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
+/**
+ * Every method takes the response fields to fill in; the rest are skipped, not
+ * just hidden.
+ */
 public interface AnalysisService {
-    AnalysisResponse analyze(MultipartFile file, String jobDescription) throws IOException;
+    AnalysisResponse analyze(MultipartFile file, String jobDescription, Set<ResponseField> fields)
+            throws IOException;
+
+    /**
+     * Analyzes a resume against a job description compiled ahead of time.
+     */
+    AnalysisResponse analyze(MultipartFile file, JobProfile profile, Set<ResponseField> fields) throws IOException;
+
+    /**
+     * Analyzes a resume that is not part of a request, waiting for a free
+     * parser instead of being rejected when they are all busy. A resume nearly
+     * duplicating one analyzed this way earlier against the same job
+     * description comes back with duplicateOf naming it.
+     */
+    AnalysisResponse analyze(ResumeSource resume, String jobDescription, Set<ResponseField> fields)
+            throws IOException;
+
+    /**
+     * Scores many resumes against one job description. Results are ranked by
+     * ATS score; files that fail are reported per item.
+     */
+    BatchAnalysisResponse analyzeBatch(List<ResumeSource> resumes, String jobDescription,
+            Set<ResponseField> fields);
+
+    /**
+     * Scores many resumes against one job description and hands each result to
+     * the sink as soon as it is ready, in completion order. Only a bounded number
+     * of resumes are in flight at once, so a slow sink throttles the batch.
+     */
+    void streamBatch(List<ResumeSource> resumes, String jobDescription, Set<ResponseField> fields,
+            BatchResultSink sink) throws IOException;
 }
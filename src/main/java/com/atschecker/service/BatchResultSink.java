@@ -0,0 +1,13 @@
+package com.atschecker.service;
+
+import com.atschecker.dto.BatchItemResult;
+import java.io.IOException;
+
+/**
+ * Receives streamed batch results one at a time. A slow sink blocks the
+ * producer, which is what keeps streaming memory bounded.
+ */
+@FunctionalInterface
+public interface BatchResultSink {
+    void accept(BatchItemResult result) throws IOException;
+}
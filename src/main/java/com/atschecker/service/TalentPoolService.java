@@ -0,0 +1,19 @@
+package com.atschecker.service;
+
+import com.atschecker.dto.TalentPoolEntry;
+import com.atschecker.dto.TalentSearchResponse;
+import com.atschecker.parser.ResumeSource;
+import java.io.IOException;
+
+public interface TalentPoolService {
+
+    /**
+     * Parses a resume once and stores it in the indexed talent pool.
+     */
+    TalentPoolEntry add(ResumeSource resume) throws IOException;
+
+    /**
+     * Returns the best {@code topK} stored resumes for a job description.
+     */
+    TalentSearchResponse search(String jobDescription, int topK);
+}
@@ -0,0 +1,292 @@
+package com.atschecker.service.impl;
+
+import com.atschecker.dto.AnalysisJobResponse;
+import com.atschecker.dto.AnalysisResponse;
+import com.atschecker.dto.ResponseField;
+import com.atschecker.jobs.AnalysisJob;
+import com.atschecker.jobs.AnalysisJobStore;
+import com.atschecker.jobs.JobPriority;
+import com.atschecker.parser.ParseTimeoutException;
+import com.atschecker.parser.ResumeParseException;
+import com.atschecker.parser.ResumeSource;
+import com.atschecker.service.AnalysisJobService;
+import com.atschecker.service.AnalysisService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Runs queued analysis jobs on a fixed set of worker threads, highest
+ * priority first and in submission order within a priority.
+ *
+ * A failed attempt is retried with exponential backoff up to
+ * ats.jobs.max-attempts, except when the resume itself cannot be parsed,
+ * which would fail the same way every time. Listener callbacks run on a
+ * separate thread so a slow subscriber never holds up a worker.
+ */
+@Service
+public class AnalysisJobServiceImpl implements AnalysisJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisJobServiceImpl.class);
+
+    private final AnalysisJobStore store;
+    private final AnalysisService analysisService;
+    private final int workerCount;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    private final PriorityBlockingQueue<AnalysisJob> queue = new PriorityBlockingQueue<>(64,
+            Comparator.comparing(AnalysisJob::getPriority).thenComparingLong(AnalysisJob::getSequence));
+    private final Map<String, List<Consumer<AnalysisJobResponse>>> listeners = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    // Delayed retries, expiry and listener callbacks
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean stopping;
+
+    private final Counter submitted;
+    private final Counter deduplicated;
+    private final Counter retries;
+    private final Counter succeeded;
+    private final Counter failed;
+
+    public AnalysisJobServiceImpl(AnalysisJobStore store, AnalysisService analysisService,
+            MeterRegistry meterRegistry,
+            @Value("${ats.jobs.workers:0}") int workers,
+            @Value("${ats.jobs.max-attempts:3}") int maxAttempts,
+            @Value("${ats.jobs.retry-backoff:2s}") Duration retryBackoff) {
+        this.store = store;
+        this.analysisService = analysisService;
+        this.workerCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analysis-job-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("ats.jobs.queued", queue, Collection::size)
+                .description("Analysis jobs waiting for a worker")
+                .register(meterRegistry);
+        this.submitted = Counter.builder("ats.jobs.submitted")
+                .description("Analysis jobs accepted")
+                .tag("result", "new")
+                .register(meterRegistry);
+        this.deduplicated = Counter.builder("ats.jobs.submitted")
+                .description("Analysis jobs accepted")
+                .tag("result", "duplicate")
+                .register(meterRegistry);
+        this.retries = Counter.builder("ats.jobs.retries")
+                .description("Failed attempts that were scheduled again")
+                .register(meterRegistry);
+        this.succeeded = Counter.builder("ats.jobs.completed")
+                .description("Analysis jobs that finished")
+                .tag("outcome", "succeeded")
+                .register(meterRegistry);
+        this.failed = Counter.builder("ats.jobs.completed")
+                .description("Analysis jobs that finished")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        // Jobs queued or interrupted when the previous run stopped
+        queue.addAll(store.queued());
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(this::work, "analysis-job-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        scheduler.scheduleWithFixedDelay(this::purgeExpired, 1, 1, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        stopping = true;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            worker.join(5000);
+        }
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public AnalysisJobResponse submit(ResumeSource resume, String jobDescription, JobPriority priority)
+            throws IOException {
+        byte[] content;
+        try (InputStream stream = resume.openStream()) {
+            content = stream.readAllBytes();
+        }
+
+        // A multipart part may come without a filename
+        String fileName = resume.name() != null ? resume.name() : "resume";
+        String id = UUID.randomUUID().toString();
+        AnalysisJob job = store.submit(id, keyOf(content, jobDescription), fileName, jobDescription,
+                priority, content);
+        boolean duplicate = !job.getId().equals(id);
+        if (duplicate) {
+            deduplicated.increment();
+        } else {
+            submitted.increment();
+            queue.add(job);
+        }
+        AnalysisJobResponse response = toResponse(job);
+        response.setDuplicate(duplicate);
+        return response;
+    }
+
+    @Override
+    public AnalysisJobResponse find(String id) {
+        AnalysisJob job = store.find(id);
+        return job != null ? toResponse(job) : null;
+    }
+
+    @Override
+    public Runnable subscribe(String id, Consumer<AnalysisJobResponse> listener) {
+        AnalysisJob job = store.find(id);
+        if (job == null)
+            return null;
+
+        listeners.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(listener);
+        Runnable unsubscribe = () -> listeners.computeIfPresent(id, (key, subscribed) -> {
+            subscribed.remove(listener);
+            return subscribed.isEmpty() ? null : subscribed;
+        });
+        // Runs after any change already being delivered, so states never go backwards
+        scheduler.execute(() -> {
+            AnalysisJobResponse current = toResponse(job);
+            listener.accept(current);
+            if (current.getStatus().isFinished())
+                unsubscribe.run();
+        });
+        return unsubscribe;
+    }
+
+    private void work() {
+        while (!stopping) {
+            AnalysisJob job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            run(job);
+        }
+    }
+
+    private void purgeExpired() {
+        try {
+            store.purgeExpired();
+        } catch (IOException e) {
+            // Tried again on the next run; the old log is still intact
+            log.error("Could not compact the analysis job log: {}", e.getMessage());
+        }
+    }
+
+    private void run(AnalysisJob job) {
+        try {
+            store.started(job);
+        } catch (IOException e) {
+            // The job is still queued in the store; try it again once the disk may have recovered
+            log.error("Could not start analysis job {}, retrying in {}: {}", job.getId(), retryBackoff,
+                    e.getMessage());
+            scheduler.schedule(() -> queue.add(job), retryBackoff.toMillis(), TimeUnit.MILLISECONDS);
+            return;
+        }
+        try {
+            publish(job);
+
+            AnalysisResponse result;
+            try {
+                result = analysisService.analyze(store.payload(job), job.getJobDescription(), ResponseField.FULL);
+            } catch (IOException | RuntimeException e) {
+                if (stopping)
+                    return; // Still running in the log, so it is queued again on the next start
+                recordFailure(job, e);
+                publish(job);
+                return;
+            }
+
+            store.succeeded(job, result);
+            succeeded.increment();
+            publish(job);
+        } catch (IOException e) {
+            log.error("Could not record the state of analysis job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private void recordFailure(AnalysisJob job, Exception e) throws IOException {
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        // An unparseable resume fails the same way every time; timeouts and I/O errors may not
+        boolean permanent = e instanceof ResumeParseException && !(e instanceof ParseTimeoutException);
+        if (permanent || job.getAttempts() >= maxAttempts) {
+            store.failed(job, error);
+            failed.increment();
+            return;
+        }
+
+        store.retrying(job, error);
+        retries.increment();
+        long delay = retryBackoff.toMillis() << Math.min(job.getAttempts() - 1, 16);
+        scheduler.schedule(() -> queue.add(job), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void publish(AnalysisJob job) {
+        if (!listeners.containsKey(job.getId()))
+            return;
+        AnalysisJobResponse state = toResponse(job);
+        scheduler.execute(() -> {
+            List<Consumer<AnalysisJobResponse>> subscribed = state.getStatus().isFinished()
+                    ? listeners.remove(job.getId())
+                    : listeners.get(job.getId());
+            if (subscribed != null) {
+                subscribed.forEach(listener -> listener.accept(state));
+            }
+        });
+    }
+
+    private static AnalysisJobResponse toResponse(AnalysisJob job) {
+        AnalysisJobResponse response = new AnalysisJobResponse();
+        response.setId(job.getId());
+        // Status last-written by the store, so a finished status comes with its result
+        response.setStatus(job.getStatus());
+        response.setPriority(job.getPriority());
+        response.setFileName(job.getFileName());
+        response.setAttempts(job.getAttempts());
+        response.setSubmittedAt(job.getSubmittedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        response.setResult(job.getResult());
+        response.setError(job.getError());
+        return response;
+    }
+
+    // Identical resume bytes and job description give the same key
+    private static String keyOf(byte[] content, String jobDescription) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(content);
+            sha256.update((byte) 0);
+            sha256.update(jobDescription.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
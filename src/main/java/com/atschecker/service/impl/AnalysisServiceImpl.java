@@ -1,46 +1,425 @@
 package com.atschecker.service.impl;
 
+import com.atschecker.analyzer.JobProfile;
+import com.atschecker.analyzer.JobProfileRegistry;
 import com.atschecker.analyzer.KeywordAnalyzer;
+import com.atschecker.document.ResumeDocument;
+import com.atschecker.document.ResumeSegmenter;
 import com.atschecker.dto.AnalysisResponse;
+import com.atschecker.dto.BatchAnalysisResponse;
+import com.atschecker.dto.BatchItemResult;
+import com.atschecker.dto.ResponseField;
+import com.atschecker.parser.ParsedResume;
 import com.atschecker.parser.ResumeParser;
+import com.atschecker.parser.ResumeSource;
 import com.atschecker.scorer.AtsScorer;
+import com.atschecker.scorer.SkillStatistics;
 import com.atschecker.service.AnalysisService;
-import lombok.RequiredArgsConstructor;
+import com.atschecker.service.BatchResultSink;
+import com.atschecker.similarity.DuplicateTracker;
+import com.atschecker.similarity.MinHash;
+import com.atschecker.util.TechnicalDictionary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
 
 @Service
 public class AnalysisServiceImpl implements AnalysisService {
 
+    // Job descriptions whose analysis jobs are checked for duplicates, most recently used kept
+    private static final int JOB_DUPLICATE_SCOPES = 32;
+
+    // Scoring a parsed resume takes milliseconds; an original taking longer is stuck or gone
+    private static final Duration ORIGINAL_WAIT = Duration.ofSeconds(10);
+
+    // Analysis jobs are compared with earlier jobs for the same profile and response fields
+    private record JobScope(JobProfile profile, Set<ResponseField> fields) {
+    }
+
     private final ResumeParser resumeParser;
     private final KeywordAnalyzer keywordAnalyzer;
+    private final JobProfileRegistry jobProfiles;
     private final AtsScorer atsScorer;
+    private final SkillStatistics skillStatistics;
+    private final ExecutorService analysisExecutor;
+    private final int maxBatchFiles;
+    private final DataSize maxResumeSize;
+    private final int maxInFlight;
+    private final String duplicateMode;
+    private final double duplicateThreshold;
+    private final int jobDuplicateWindow;
+    private final Cache<JobScope, DuplicateTracker<AnalysisResponse>> jobDuplicates;
+
+    private final Timer analyzeTimer;
+    private final Timer segmentTimer;
+    private final Timer matchTimer;
+    private final Timer scoreTimer;
+    private final DistributionSummary jobKeywordCounts;
+    private final DistributionSummary matchedKeywordCounts;
+    private final Counter reusedDuplicates;
+    private final Counter flaggedDuplicates;
 
-    public AnalysisServiceImpl(ResumeParser resumeParser, KeywordAnalyzer keywordAnalyzer, AtsScorer atsScorer) {
+    public AnalysisServiceImpl(ResumeParser resumeParser, KeywordAnalyzer keywordAnalyzer,
+            JobProfileRegistry jobProfiles, AtsScorer atsScorer, SkillStatistics skillStatistics,
+            ExecutorService analysisExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${ats.batch.max-files:500}") int maxBatchFiles,
+            @Value("${ats.resume.max-size:20MB}") DataSize maxResumeSize,
+            @Value("${ats.stream.max-in-flight:0}") int maxInFlight,
+            @Value("${ats.duplicates.mode:reuse}") String duplicateMode,
+            @Value("${ats.duplicates.threshold:0.9}") double duplicateThreshold,
+            @Value("${ats.duplicates.job-window:500}") int jobDuplicateWindow) {
         this.resumeParser = resumeParser;
         this.keywordAnalyzer = keywordAnalyzer;
+        this.jobProfiles = jobProfiles;
         this.atsScorer = atsScorer;
+        this.skillStatistics = skillStatistics;
+        this.analysisExecutor = analysisExecutor;
+        this.maxBatchFiles = maxBatchFiles;
+        this.maxResumeSize = maxResumeSize;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : 2 * Runtime.getRuntime().availableProcessors();
+        if (!List.of("reuse", "flag", "off").contains(duplicateMode)) {
+            throw new IllegalArgumentException(
+                    "ats.duplicates.mode must be 'reuse', 'flag' or 'off', not " + duplicateMode);
+        }
+        if (duplicateThreshold <= 0 || duplicateThreshold > 1) {
+            throw new IllegalArgumentException("ats.duplicates.threshold must be above 0 and at most 1");
+        }
+        this.duplicateMode = duplicateMode;
+        this.duplicateThreshold = duplicateThreshold;
+        this.jobDuplicateWindow = Math.max(jobDuplicateWindow, 1);
+        this.jobDuplicates = Caffeine.newBuilder().maximumSize(JOB_DUPLICATE_SCOPES).build();
+
+        this.analyzeTimer = Timer.builder("ats.analyze")
+                .description("End-to-end analysis of one resume: parse, match and score")
+                .register(meterRegistry);
+        this.segmentTimer = Timer.builder("ats.segment")
+                .description("Splitting resume text into sections and tokens")
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("ats.match")
+                .description("Matching resume text against a job profile")
+                .register(meterRegistry);
+        this.scoreTimer = Timer.builder("ats.score")
+                .description("ATS score calculation")
+                .register(meterRegistry);
+        this.jobKeywordCounts = DistributionSummary.builder("ats.keywords")
+                .description("Keywords per analysis")
+                .tag("kind", "job")
+                .register(meterRegistry);
+        this.matchedKeywordCounts = DistributionSummary.builder("ats.keywords")
+                .description("Keywords per analysis")
+                .tag("kind", "matched")
+                .register(meterRegistry);
+        this.reusedDuplicates = Counter.builder("ats.duplicates")
+                .description("Resumes nearly duplicating an earlier one in their batch or among analysis jobs")
+                .tag("action", "reused")
+                .register(meterRegistry);
+        this.flaggedDuplicates = Counter.builder("ats.duplicates")
+                .description("Resumes nearly duplicating an earlier one in their batch or among analysis jobs")
+                .tag("action", "flagged")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public AnalysisResponse analyze(MultipartFile file, String jobDescription, Set<ResponseField> fields)
+            throws IOException {
+        return analyze(file, jobProfiles.profileFor(jobDescription), fields);
+    }
+
+    @Override
+    public AnalysisResponse analyze(MultipartFile file, JobProfile profile, Set<ResponseField> fields)
+            throws IOException {
+        Timer.Sample sample = Timer.start();
+        try {
+            ParsedResume parsed = resumeParser.parse(file);
+
+            return buildResponse(parsed.digest(), segment(parsed.text()), profile, fields);
+        } finally {
+            sample.stop(analyzeTimer);
+        }
+    }
+
+    @Override
+    public AnalysisResponse analyze(ResumeSource resume, String jobDescription, Set<ResponseField> fields)
+            throws IOException {
+        JobProfile profile = jobProfiles.profileFor(jobDescription);
+        Timer.Sample sample = Timer.start();
+        try {
+            ParsedResume parsed = resumeParser.parseQueued(resume);
+            ResumeDocument document = segment(parsed.text());
+            DuplicateTracker<AnalysisResponse> duplicates = jobDuplicateTracker(profile, fields);
+            if (duplicates == null)
+                return buildResponse(parsed.digest(), document, profile, fields);
+            BatchItemResult item = analyzeOrReuse(resume.name(), parsed.digest(), document, profile, fields,
+                    duplicates);
+            return item.getDuplicateOf() == null ? item.getAnalysis()
+                    : item.getAnalysis().asDuplicateOf(item.getDuplicateOf());
+        } finally {
+            sample.stop(analyzeTimer);
+        }
     }
 
     @Override
-    public AnalysisResponse analyze(MultipartFile file, String jobDescription) throws IOException {
-        String resumeText = resumeParser.parse(file);
-        Set<String> jdKeywords = keywordAnalyzer.extractKeywords(jobDescription);
+    public BatchAnalysisResponse analyzeBatch(List<ResumeSource> resumes, String jobDescription,
+            Set<ResponseField> fields) {
+        checkBatchSize(resumes);
+        // The JD is the same for every resume, so it is compiled once
+        JobProfile profile = jobProfiles.profileFor(jobDescription);
+        DuplicateTracker<AnalysisResponse> duplicates = duplicateTracker(resumes.size());
+
+        List<Future<BatchItemResult>> futures = new ArrayList<>(resumes.size());
+        for (ResumeSource resume : resumes) {
+            futures.add(analysisExecutor.submit(() -> analyzeItem(resume, profile, fields, duplicates)));
+        }
+
+        List<BatchItemResult> ranked = new ArrayList<>();
+        List<BatchItemResult> failed = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            BatchItemResult result = awaitItem(futures.get(i), resumes.get(i).name());
+            (result.isSuccess() ? ranked : failed).add(result);
+        }
+
+        ranked.sort(Comparator.comparingInt((BatchItemResult r) -> r.getAnalysis().getAtsScore()).reversed());
+        for (int i = 0; i < ranked.size(); i++) {
+            ranked.get(i).setRank(i + 1);
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(ranked);
+        results.addAll(failed);
+        return new BatchAnalysisResponse(resumes.size(), ranked.size(), failed.size(),
+                new ArrayList<>(profile.getKeywords()), results);
+    }
+
+    @Override
+    public void streamBatch(List<ResumeSource> resumes, String jobDescription, Set<ResponseField> fields,
+            BatchResultSink sink) throws IOException {
+        checkBatchSize(resumes);
+        JobProfile profile = jobProfiles.profileFor(jobDescription);
+        DuplicateTracker<AnalysisResponse> duplicates = duplicateTracker(resumes.size());
+
+        CompletionService<BatchItemResult> completion = new ExecutorCompletionService<>(analysisExecutor);
+        Map<Future<BatchItemResult>, String> inFlight = new HashMap<>();
+        int next = 0;
+        try {
+            while (next < resumes.size() || !inFlight.isEmpty()) {
+                // Top up the window; nothing new is parsed until the sink drains a result
+                while (next < resumes.size() && inFlight.size() < maxInFlight) {
+                    ResumeSource resume = resumes.get(next++);
+                    inFlight.put(completion.submit(() -> analyzeItem(resume, profile, fields, duplicates)),
+                            resume.name());
+                }
+                Future<BatchItemResult> done = completion.take();
+                sink.accept(awaitItem(done, inFlight.remove(done)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch stream was interrupted");
+        } finally {
+            // Client went away or we were interrupted: stop work nobody will read
+            inFlight.keySet().forEach(future -> future.cancel(true));
+        }
+    }
+
+    private void checkBatchSize(List<ResumeSource> resumes) {
+        if (resumes.size() > maxBatchFiles) {
+            throw new IllegalArgumentException("Batch contains more than " + maxBatchFiles + " resumes");
+        }
+    }
+
+    // One per batch; null when duplicates aren't looked for
+    private DuplicateTracker<AnalysisResponse> duplicateTracker(int batchSize) {
+        return duplicateMode.equals("off") ? null : new DuplicateTracker<>(duplicateThreshold, batchSize);
+    }
+
+    /**
+     * The tracker shared by analysis jobs against the profile; started afresh
+     * once it holds jobDuplicateWindow resumes, so a job description that stays
+     * in use doesn't keep every result it ever produced. Null when duplicates
+     * aren't looked for.
+     */
+    private DuplicateTracker<AnalysisResponse> jobDuplicateTracker(JobProfile profile, Set<ResponseField> fields) {
+        if (duplicateMode.equals("off"))
+            return null;
+        return jobDuplicates.asMap().compute(new JobScope(profile, fields),
+                (scope, tracker) -> tracker == null || tracker.size() >= jobDuplicateWindow
+                        ? new DuplicateTracker<>(duplicateThreshold, 64)
+                        : tracker);
+    }
+
+    private BatchItemResult analyzeItem(ResumeSource resume, JobProfile profile, Set<ResponseField> fields,
+            DuplicateTracker<AnalysisResponse> duplicates) {
+        if (resume.size() > maxResumeSize.toBytes()) {
+            return BatchItemResult.failure(resume.name(), "File exceeds the " + maxResumeSize + " size limit.");
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            ParsedResume parsed = resumeParser.parseQueued(resume);
+            ResumeDocument document = segment(parsed.text());
+            if (duplicates == null)
+                return BatchItemResult.success(resume.name(),
+                        buildResponse(parsed.digest(), document, profile, fields));
+            return analyzeOrReuse(resume.name(), parsed.digest(), document, profile, fields, duplicates);
+        } catch (IOException e) {
+            return BatchItemResult.failure(resume.name(), e.getMessage());
+        } finally {
+            sample.stop(analyzeTimer);
+        }
+    }
+
+    /**
+     * Scores a resume unless it nearly duplicates one already claimed in the
+     * tracker: earlier in its batch, or for an analysis job, an earlier job
+     * against the same profile. A duplicate is marked with the earlier
+     * resume's name and, in reuse mode, shares its result rather than being
+     * matched and scored again.
+     */
+    private BatchItemResult analyzeOrReuse(String name, String digest, ResumeDocument document,
+            JobProfile profile, Set<ResponseField> fields, DuplicateTracker<AnalysisResponse> duplicates) {
+        long[] signature = MinHash.signature(document);
+        CompletableFuture<AnalysisResponse> result = new CompletableFuture<>();
+        DuplicateTracker.Original<AnalysisResponse> original = signature == null ? null
+                : duplicates.claim(name, signature, result);
+        if (original == null) {
+            try {
+                AnalysisResponse response = buildResponse(digest, document, profile, fields);
+                result.complete(response);
+                return BatchItemResult.success(name, response);
+            } catch (Throwable e) {
+                // Errors too, or duplicates waiting on this result would wait for nothing
+                result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        AnalysisResponse shared = duplicateMode.equals("reuse") ? awaitOriginal(original.result()) : null;
+        (shared != null ? reusedDuplicates : flaggedDuplicates).increment();
+        // A flagged copy is the same candidate, so it stays out of the document frequencies;
+        // a reused one only gets here if the original failed and was never counted
+        BatchItemResult item = BatchItemResult.success(name, shared != null ? shared
+                : buildResponse(duplicateMode.equals("flag") ? null : digest, document, profile, fields));
+        item.setDuplicateOf(original.name());
+        return item;
+    }
+
+    // The original's result, or null if it failed or is taking too long and the duplicate
+    // has to be scored itself
+    private static AnalysisResponse awaitOriginal(CompletableFuture<AnalysisResponse> result) {
+        try {
+            return result.get(ORIGINAL_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
 
-        List<String> matchedKeywords = keywordAnalyzer.findMatches(resumeText, jdKeywords);
+    private BatchItemResult awaitItem(Future<BatchItemResult> future, String fileName) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            return BatchItemResult.failure(fileName, "Analysis failed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return BatchItemResult.failure(fileName, "Analysis was interrupted.");
+        }
+    }
 
-        Set<String> matchedSet = new HashSet<>(matchedKeywords);
-        List<String> missingKeywords = jdKeywords.stream()
-                .filter(k -> !matchedSet.contains(k))
-                .limit(10) // Limit suggestions
-                .collect(Collectors.toList());
+    // Runs once per resume, right after parsing; matching and scoring both read its sections
+    private ResumeDocument segment(String resumeText) {
+        return segmentTimer.record(() -> ResumeSegmenter.segment(resumeText));
+    }
+
+    // digest is the resume's content digest, or null if it must not count towards the document frequencies
+    private AnalysisResponse buildResponse(String digest, ResumeDocument resume, JobProfile profile,
+            Set<ResponseField> fields) {
+        // One scan counts every skill: the job's feed the score, all of them the document frequencies
+        int[] skillCounts = matchTimer.record(() -> keywordAnalyzer.countSkills(resume, profile));
+        if (digest != null) {
+            // Only the first time this resume is seen, whatever the JD
+            skillStatistics.observe(digest, profile.getDictionary(), skillCounts);
+        }
+
+        // Matched and missing are skill-id bitsets; names are only resolved for the response
+        BitSet matched = new BitSet(skillCounts.length);
+        for (int i = 0; i < profile.keywordCount(); i++) {
+            int skillId = profile.keywordId(i);
+            if (skillCounts[skillId] > 0) {
+                matched.set(skillId);
+            }
+        }
+        BitSet missing = profile.getSkillIds();
+        missing.andNot(matched);
+        jobKeywordCounts.record(profile.keywordCount());
+        matchedKeywordCounts.record(matched.cardinality());
 
         List<String> warnings = new ArrayList<>();
-        int score = atsScorer.calculateScore(matchedKeywords.size(), jdKeywords.size(), resumeText, warnings);
+        Timer.Sample scoreSample = Timer.start();
+        double documentScore = atsScorer.calculateDocumentScore(resume, warnings);
+        int score = atsScorer.score(profile, skillCounts, documentScore);
+        scoreSample.stop(scoreTimer);
 
+        // Only the requested parts are built from here on
+        TechnicalDictionary dictionary = profile.getDictionary();
+        AnalysisResponse response = new AnalysisResponse();
+        response.setAtsScore(score);
+        if (fields.contains(ResponseField.MATCHED_KEYWORDS)) {
+            response.setMatchedKeywords(dictionary.namesOf(matched));
+        }
+        if (fields.contains(ResponseField.MATCHED_SKILL_IDS)) {
+            response.setMatchedSkillIds(matched.stream().toArray());
+        }
+
+        boolean suggest = fields.contains(ResponseField.SUGGESTIONS);
+        if (suggest || fields.contains(ResponseField.MISSING_KEYWORDS)
+                || fields.contains(ResponseField.MISSING_SKILL_IDS)) {
+            int[] missingIds = new int[Math.min(missing.cardinality(), 10)]; // Limit suggestions
+            for (int i = 0, found = 0; found < missingIds.length; i++) {
+                int skillId = profile.keywordId(i);
+                if (missing.get(skillId)) {
+                    missingIds[found++] = skillId;
+                }
+            }
+            List<String> missingKeywords = new ArrayList<>(missingIds.length);
+            if (suggest || fields.contains(ResponseField.MISSING_KEYWORDS)) {
+                for (int skillId : missingIds) {
+                    missingKeywords.add(dictionary.nameOf(skillId));
+                }
+            }
+            if (fields.contains(ResponseField.MISSING_KEYWORDS)) {
+                response.setMissingKeywords(missingKeywords);
+            }
+            if (fields.contains(ResponseField.MISSING_SKILL_IDS)) {
+                response.setMissingSkillIds(missingIds);
+            }
+            if (suggest) {
+                response.setSuggestions(suggestions(missingKeywords, score));
+            }
+        }
+
+        if (fields.contains(ResponseField.WARNINGS)) {
+            response.setWarnings(warnings);
+        }
+        if (fields.contains(ResponseField.DICTIONARY_VERSION)) {
+            response.setDictionaryVersion(dictionary.getVersion());
+        }
+        return response;
+    }
+
+    private static List<String> suggestions(List<String> missingKeywords, int score) {
         List<String> suggestions = new ArrayList<>();
         if (!missingKeywords.isEmpty()) {
             suggestions.add("Consider adding keywords like: "
@@ -49,7 +428,6 @@ public class AnalysisServiceImpl implements AnalysisService {
         if (score < 70) {
             suggestions.add("Tailor your work experience bullets to match the job requirements more closely.");
         }
-
-        return new AnalysisResponse(score, matchedKeywords, missingKeywords, warnings, suggestions);
+        return suggestions;
     }
 }
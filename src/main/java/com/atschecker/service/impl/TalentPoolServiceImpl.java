@@ -0,0 +1,102 @@
+package com.atschecker.service.impl;
+
+import com.atschecker.analyzer.CompiledDictionary;
+import com.atschecker.analyzer.JobProfile;
+import com.atschecker.analyzer.JobProfileRegistry;
+import com.atschecker.analyzer.KeywordAnalyzer;
+import com.atschecker.document.ResumeDocument;
+import com.atschecker.document.ResumeSegmenter;
+import com.atschecker.dto.TalentMatch;
+import com.atschecker.dto.TalentPoolEntry;
+import com.atschecker.dto.TalentSearchResponse;
+import com.atschecker.index.ResumeIndex;
+import com.atschecker.parser.ParsedResume;
+import com.atschecker.parser.ResumeParser;
+import com.atschecker.parser.ResumeSource;
+import com.atschecker.scorer.AtsScorer;
+import com.atschecker.scorer.JobVector;
+import com.atschecker.scorer.SkillStatistics;
+import com.atschecker.service.TalentPoolService;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.util.*;
+
+@Service
+public class TalentPoolServiceImpl implements TalentPoolService {
+
+    private final ResumeParser resumeParser;
+    private final KeywordAnalyzer keywordAnalyzer;
+    private final JobProfileRegistry jobProfiles;
+    private final AtsScorer atsScorer;
+    private final SkillStatistics skillStatistics;
+    private final ResumeIndex resumeIndex;
+
+    public TalentPoolServiceImpl(ResumeParser resumeParser, KeywordAnalyzer keywordAnalyzer,
+            JobProfileRegistry jobProfiles, AtsScorer atsScorer, SkillStatistics skillStatistics,
+            ResumeIndex resumeIndex) {
+        this.resumeParser = resumeParser;
+        this.keywordAnalyzer = keywordAnalyzer;
+        this.jobProfiles = jobProfiles;
+        this.atsScorer = atsScorer;
+        this.skillStatistics = skillStatistics;
+        this.resumeIndex = resumeIndex;
+    }
+
+    @Override
+    public TalentPoolEntry add(ResumeSource resume) throws IOException {
+        ParsedResume parsed = resumeParser.parseQueued(resume);
+        String digest = parsed.digest();
+
+        ResumeDocument document = ResumeSegmenter.segment(parsed.text());
+        CompiledDictionary dictionary = keywordAnalyzer.dictionary();
+        int[] counts = keywordAnalyzer.countSkills(document, dictionary);
+        // A no-op for a resume already pooled or analyzed
+        skillStatistics.observe(digest, dictionary.getDictionary(), counts);
+        Map<String, Integer> skillCounts = dictionary.getDictionary().countsByName(counts);
+
+        // Section and formatting points don't depend on the JD, so score them once here
+        double documentScore = atsScorer.calculateDocumentScore(document, new ArrayList<>());
+        String fileName = resume.name() != null ? resume.name() : "resume";
+        int resumeId = resumeIndex.add(digest, fileName, documentScore, skillCounts);
+
+        return new TalentPoolEntry(resumeId, fileName, new ArrayList<>(skillCounts.keySet()), null);
+    }
+
+    @Override
+    public TalentSearchResponse search(String jobDescription, int topK) {
+        JobProfile profile = jobProfiles.profileFor(jobDescription);
+        Set<String> jdKeywords = profile.getKeywords();
+        JobVector jobVector = atsScorer.vectorFor(profile);
+
+        // The pool indexes which skills a resume has, not how often, so each counts once.
+        // Keywords are in JD order, so position i is profile.keywordId(i)
+        int[] skillCounts = new int[profile.getDictionary().size()];
+        List<ResumeIndex.Hit> hits = resumeIndex.topK(new ArrayList<>(jdKeywords), topK,
+                (matched, matchedCount, documentScore) -> {
+                    for (int j = 0; j < matchedCount; j++) {
+                        skillCounts[profile.keywordId(matched[j])] = 1;
+                    }
+                    int score = atsScorer.score(jobVector, skillCounts, documentScore);
+                    for (int j = 0; j < matchedCount; j++) {
+                        skillCounts[profile.keywordId(matched[j])] = 0;
+                    }
+                    return score;
+                });
+
+        List<TalentMatch> results = new ArrayList<>(hits.size());
+        for (ResumeIndex.Hit hit : hits) {
+            List<String> matched = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (String keyword : jdKeywords) {
+                (resumeIndex.hasSkill(hit.getResumeId(), keyword) ? matched : missing).add(keyword);
+            }
+            Collections.sort(matched);
+            results.add(new TalentMatch(hit.getResumeId(), resumeIndex.fileName(hit.getResumeId()), hit.getScore(),
+                    matched, missing));
+        }
+        TalentSearchResponse response = new TalentSearchResponse(resumeIndex.size(), new ArrayList<>(jdKeywords),
+                results);
+        response.setDictionaryVersion(profile.getDictionary().getVersion());
+        return response;
+    }
+}
@@ -0,0 +1,51 @@
+package com.atschecker.similarity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The resumes of one batch, or of recent analysis jobs against one job
+ * description, so that a near-duplicate of one already seen can share its
+ * result instead of being scored again. Safe to use from several worker
+ * threads.
+ *
+ * @param <T> the result kept for each resume
+ */
+public final class DuplicateTracker<T> {
+
+    /**
+     * The earlier resume a claimed one nearly duplicates.
+     *
+     * @param result completes when the earlier resume has been scored
+     */
+    public record Original<T>(String name, double similarity, CompletableFuture<T> result) {
+    }
+
+    private final NearDuplicateIndex index;
+    private final List<String> names = new ArrayList<>();
+    private final List<CompletableFuture<T>> results = new ArrayList<>();
+
+    public DuplicateTracker(double threshold, int expectedSize) {
+        this.index = new NearDuplicateIndex(threshold, expectedSize);
+    }
+
+    public synchronized int size() {
+        return names.size();
+    }
+
+    /**
+     * Looks the resume up among the earlier ones. If none is close enough it
+     * is recorded as an original, whose {@code result} the caller must
+     * complete, and null is returned.
+     */
+    public synchronized Original<T> claim(String name, long[] signature, CompletableFuture<T> result) {
+        int earlier = index.nearest(signature);
+        if (earlier >= 0)
+            return new Original<>(names.get(earlier), index.similarity(signature, earlier), results.get(earlier));
+        index.add(signature);
+        names.add(name);
+        results.add(result);
+        return null;
+    }
+}
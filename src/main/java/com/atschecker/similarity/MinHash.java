@@ -0,0 +1,115 @@
+package com.atschecker.similarity;
+
+import com.atschecker.document.ResumeDocument;
+
+import java.util.Arrays;
+
+/**
+ * MinHash signatures of resumes, for spotting the same resume submitted again
+ * with small edits.
+ *
+ * A resume is the set of its three-word shingles, taken from the segmented
+ * token table. Each shingle is hashed once and falls into one of
+ * {@link #SIZE} bins by its top bits, keeping the smallest hash per bin (one
+ * permutation hashing); empty bins borrow from the next filled one. Only the
+ * low 16 bits of each minimum are kept, four to a long, so a signature is
+ * {@link #LONGS} longs whatever the resume's length. The share of equal
+ * values between two signatures estimates the Jaccard similarity of their
+ * shingle sets.
+ */
+public final class MinHash {
+
+    /**
+     * Hash values per signature.
+     */
+    public static final int SIZE = 64;
+
+    /**
+     * Longs per signature, at four 16-bit values each.
+     */
+    public static final int LONGS = SIZE / 4;
+
+    private static final int SHINGLE = 3;
+    private static final int BIN_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(SIZE);
+    private static final long VALUE_MASK = -1L >>> Integer.numberOfTrailingZeros(SIZE);
+
+    private MinHash() {
+    }
+
+    /**
+     * The resume's signature, or null if it is too short to have a shingle.
+     */
+    public static long[] signature(ResumeDocument document) {
+        int tokens = document.tokenCount();
+        if (tokens < SHINGLE)
+            return null;
+
+        long[] minimums = new long[SIZE];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        CharSequence text = document.text();
+        long first = tokenHash(text, document.tokenStart(0), document.tokenEnd(0));
+        long second = tokenHash(text, document.tokenStart(1), document.tokenEnd(1));
+        for (int t = 2; t < tokens; t++) {
+            long third = tokenHash(text, document.tokenStart(t), document.tokenEnd(t));
+            long hash = mix(first ^ Long.rotateLeft(second, 21) ^ Long.rotateLeft(third, 42));
+            int bin = (int) (hash >>> BIN_SHIFT);
+            long value = hash & VALUE_MASK;
+            if (value < minimums[bin]) {
+                minimums[bin] = value;
+            }
+            first = second;
+            second = third;
+        }
+
+        long[] signature = new long[LONGS];
+        for (int bin = 0; bin < SIZE; bin++) {
+            long value = minimums[bin];
+            // Densify: an empty bin takes the next filled bin's value, salted by the distance
+            for (int distance = 1; value == Long.MAX_VALUE; distance++) {
+                long borrowed = minimums[(bin + distance) % SIZE];
+                if (borrowed != Long.MAX_VALUE) {
+                    value = mix(borrowed + distance);
+                }
+            }
+            signature[bin >>> 2] |= (value & 0xFFFFL) << ((bin & 3) * 16);
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of two signatures stored at the given
+     * offsets, as the share of hash values they have in common.
+     */
+    public static double similarity(long[] a, int aOffset, long[] b, int bOffset) {
+        int equal = 0;
+        for (int i = 0; i < LONGS; i++) {
+            long difference = a[aOffset + i] ^ b[bOffset + i];
+            for (int lane = 0; lane < 4; lane++) {
+                if ((difference & 0xFFFFL) == 0)
+                    equal++;
+                difference >>>= 16;
+            }
+        }
+        return equal / (double) SIZE;
+    }
+
+    // FNV-1a over the lowercased token, without copying it out of the text
+    private static long tokenHash(CharSequence text, int start, int end) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= Character.toLowerCase(text.charAt(i));
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // MurmurHash3's 64-bit finalizer, so every input bit reaches the bin and the value
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
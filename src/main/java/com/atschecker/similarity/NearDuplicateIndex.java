@@ -0,0 +1,141 @@
+package com.atschecker.similarity;
+
+import java.util.Arrays;
+
+/**
+ * Finds stored {@link MinHash} signatures close to a new one without
+ * comparing against all of them (locality-sensitive hashing).
+ *
+ * Each long of a signature, four hash values, is a band. Two resumes are
+ * candidates when any band is equal, which resumes at 0.9 similarity almost
+ * always share and unrelated ones almost never do, so a lookup compares
+ * against a handful of entries however many are stored. Candidates are then
+ * checked against the threshold.
+ *
+ * Everything is held in flat arrays: the signature and one bucket link per
+ * band for each entry, and an open-addressing table of bucket heads, roughly
+ * 500 bytes per resume in all. Not thread-safe.
+ */
+public final class NearDuplicateIndex {
+
+    private static final int BANDS = MinHash.LONGS;
+    private static final int NONE = -1;
+
+    private final double threshold;
+
+    // Entry e's signature is signatures[e * BANDS .. (e + 1) * BANDS)
+    private long[] signatures;
+    // The entry added before e with the same value in band b, at links[e * BANDS + b]
+    private int[] links;
+    private int size;
+
+    // Latest entry per band value
+    private long[] bucketKeys;
+    private int[] bucketHeads;
+    private int buckets;
+
+    public NearDuplicateIndex(double threshold) {
+        this(threshold, 16);
+    }
+
+    public NearDuplicateIndex(double threshold, int expectedSize) {
+        this.threshold = threshold;
+        int capacity = Math.max(expectedSize, 1);
+        this.signatures = new long[capacity * BANDS];
+        this.links = new int[capacity * BANDS];
+        int tableSize = Integer.highestOneBit(Math.max(capacity * BANDS * 2 - 1, 16)) * 2;
+        this.bucketKeys = new long[tableSize];
+        this.bucketHeads = new int[tableSize];
+        Arrays.fill(bucketHeads, NONE);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The stored entry most similar to the signature, if it reaches the
+     * threshold; otherwise -1. Ties go to the earliest entry.
+     */
+    public int nearest(long[] signature) {
+        int best = NONE;
+        double bestSimilarity = 0;
+        for (int band = 0; band < BANDS; band++) {
+            int slot = slotOf(bucketKey(band, signature[band]));
+            for (int entry = bucketHeads[slot]; entry != NONE; entry = links[entry * BANDS + band]) {
+                double similarity = similarity(signature, entry);
+                if (similarity >= threshold && (similarity > bestSimilarity
+                        || (similarity == bestSimilarity && entry < best))) {
+                    best = entry;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Estimated Jaccard similarity between a signature and a stored entry.
+     */
+    public double similarity(long[] signature, int entry) {
+        return MinHash.similarity(signature, 0, signatures, entry * BANDS);
+    }
+
+    /**
+     * Stores a signature and returns its entry number; entries are numbered
+     * from 0 in the order they were added.
+     */
+    public int add(long[] signature) {
+        if ((size + 1) * BANDS > signatures.length) {
+            signatures = Arrays.copyOf(signatures, signatures.length * 2);
+            links = Arrays.copyOf(links, links.length * 2);
+        }
+        if ((buckets + BANDS) * 4 > bucketKeys.length * 3) {
+            rehash(bucketKeys.length * 2);
+        }
+
+        int entry = size++;
+        System.arraycopy(signature, 0, signatures, entry * BANDS, BANDS);
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(band, signature[band]);
+            int slot = slotOf(key);
+            if (bucketHeads[slot] == NONE) {
+                bucketKeys[slot] = key;
+                buckets++;
+            }
+            links[entry * BANDS + band] = bucketHeads[slot];
+            bucketHeads[slot] = entry;
+        }
+        return entry;
+    }
+
+    // The slot holding the key, or the free slot where it belongs
+    private int slotOf(long key) {
+        int mask = bucketKeys.length - 1;
+        int slot = (int) key & mask;
+        while (bucketHeads[slot] != NONE && bucketKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = bucketKeys;
+        int[] oldHeads = bucketHeads;
+        bucketKeys = new long[tableSize];
+        bucketHeads = new int[tableSize];
+        Arrays.fill(bucketHeads, NONE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] != NONE) {
+                int slot = slotOf(oldKeys[i]);
+                bucketKeys[slot] = oldKeys[i];
+                bucketHeads[slot] = oldHeads[i];
+            }
+        }
+    }
+
+    // The same four values in different bands are different buckets
+    private static long bucketKey(int band, long value) {
+        return MinHash.mix(value + band * 0x9E3779B97F4A7C15L);
+    }
+}
@@ -1,205 +1,194 @@
 package com.atschecker.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class TechnicalDictionary {
-    // Map of lowercase skill to its Professional Display Name
-    // This is the MANDATORY dictionary. If a word isn't here, it isn't a skill.
-    public static final Map<String, String> SKILLS_MAP = new LinkedHashMap<>();
-
-    static {
-        // Programming Languages
-        add("Java");
-        add("JavaScript");
-        add("TypeScript");
-        add("Python");
-        add("C#");
-        add("C++");
-        add("Ruby");
-        add("Go");
-        add("Golang");
-        add("Swift");
-        add("Kotlin");
-        add("PHP");
-        add("Rust");
-        add("SQL");
-        add("HTML");
-        add("CSS");
-        add("SASS");
-        add("LESS");
-        add("R");
-        add("Scala");
-        add("Dart");
-        add("MATLAB");
-        add("Perl");
-        add("Haskell");
-
-        // Frameworks & Libraries
-        add("Spring");
-        add("Spring Boot");
-        add("React");
-        add("Angular");
-        add("Vue");
-        add("Node.js");
-        add("Express");
-        add("Django");
-        add("Flask");
-        add("Laravel");
-        add("Rails");
-        add("ASP.NET");
-        add("dotNet");
-        add("Spring MVC");
-        add("Spring Security");
-        add("Next.js");
-        add("Nuxt");
-        add("Svelte");
-        add("jQuery");
-        add("Bootstrap");
-        add("Tailwind");
-        add("MUI");
-        add("Material UI");
-        add("Redux");
-        add("RxJS");
-        add("Hibernate");
-        add("JPA");
-        add("MyBatis");
-        add("JUnit");
-        add("Mockito");
-        add("Selenium");
-        add("Jest");
-        add("Cypress");
-        add("Flutter");
-        add("React Native");
-        add("TensorFlow");
-        add("PyTorch");
-        add("Pandas");
-        add("NumPy");
-        add("Spark");
-
-        // Databases
-        add("MySQL");
-        add("PostgreSQL");
-        add("Postgres");
-        add("MongoDB");
-        add("Redis");
-        add("Oracle");
-        add("SQL Server");
-        add("SQLite");
-        add("Cassandra");
-        add("DynamoDB");
-        add("MariaDB");
-        add("Elasticsearch");
-        add("Neo4j");
-        add("Firebase");
-        add("CouchDB");
-
-        // Cloud & platforms
-        add("AWS");
-        add("Azure");
-        add("GCP");
-        add("Google Cloud");
-        add("Heroku");
-        add("Netlify");
-        add("Vercel");
-        add("DigitalOcean");
-        add("AWS S3");
-        add("AWS EC2");
-        add("AWS Lambda");
-        add("Amplify");
-        add("Cloudfront");
-        add("Route53");
-
-        // DevOps & Orchestration
-        add("Docker");
-        add("Kubernetes");
-        add("K8s");
-        add("Jenkins");
-        add("Git");
-        add("GitHub");
-        add("GitLab");
-        add("Bitbucket");
-        add("Ansible");
-        add("Terraform");
-        add("CI/CD");
-        add("CircleCI");
-        add("Travis CI");
-        add("Maven");
-        add("Gradle");
-        add("npm");
-        add("Yarn");
-        add("pip");
-        add("Prometheus");
-        add("Grafana");
-        add("Splunk");
-        add("Linux");
-        add("Ubuntu");
-        add("Debian");
-        add("CentOS");
-        add("Nginx");
-        add("Apache");
-        add("RabbitMQ");
-        add("Kafka");
-        add("ActiveMQ");
-
-        // APIs & Protocols
-        add("REST");
-        add("RESTful");
-        add("RESTful APIs");
-        add("SOAP");
-        add("GraphQL");
-        add("gRPC");
-        add("JSON");
-        add("XML");
-        add("HTTP");
-        add("HTTPS");
-        add("OAuth");
-        add("JWT");
-        add("WebSocket");
-        add("Web API");
-
-        // Core Concepts & Methods (Allowed hiring keywords)
-        add("Algorithms");
-        add("Data Structures");
-        add("Backend");
-        add("Frontend");
-        add("Full Stack");
-        add("Microservices");
-        add("Unit Testing");
-        add("Integration Testing");
-        add("ORM");
-        add("MVC");
-        add("API");
-        add("UI");
-        add("UX");
-        add("SDLC");
-        add("Object-Oriented Programming");
-        add("OOP");
-        add("Design Patterns");
-        add("Agile");
-        add("Scrum");
-        add("Kanban");
-        add("TDD");
-        add("BDD");
-
-        // Project Management
-        add("Jira");
-        add("Confluence");
-        add("Trello");
-        add("Asana");
-    }
-
-    private static void add(String skill) {
-        SKILLS_MAP.put(skill.toLowerCase(), skill);
-    }
-
-    // Explicitly blocked list to prevent accidental matching or inflation
-    public static final Set<String> BLOCKED = new HashSet<>(Arrays.asList(
-            "software", "based", "using", "are", "computer", "experience", "programming", "development",
-            "solutions", "technologies", "technology", "technical", "final", "your", "years", "would",
-            "bit", "authorized", "building", "analyzing", "various", "quality", "professional", "highly",
-            "ability", "team", "work", "level", "strong", "excellent", "role", "summary", "hands",
-            "seeking", "this", "that", "and", "the", "for", "with", "about", "against", "from", "at",
-            "his", "her", "must", "have", "preferred", "requirements", "responsibilities", "candidate",
-            "position", "company", "applications", "knowledge", "skills", "tools", "expert", "lead",
-            "senior", "junior", "mid", "basic"));
+/**
+ * Immutable skills dictionary loaded from a text file (see skills.dict on the
+ * classpath for the format). This is the MANDATORY dictionary: if a word isn't
+ * here, it isn't a skill.
+ *
+ * Every canonical skill gets a dense integer id in file order. The analysis
+ * pipeline works on these ids (bitsets, count arrays) and only resolves
+ * display names when building responses. Ids are only meaningful within the
+ * dictionary that issued them.
+ */
+public final class TechnicalDictionary {
+
+    public static final String DEFAULT_RESOURCE = "skills.dict";
+
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    // Load order: a reloaded dictionary is always newer than the one it replaces
+    private final long generation = GENERATIONS.incrementAndGet();
+
+    private final String version;
+    // Lowercase lookup key (skill or alias) to its Professional Display Name
+    private final Map<String, String> skillsMap;
+    // Explicitly blocked keys to prevent accidental matching or inflation
+    private final Set<String> blocked;
+    private final List<String> skillNames;
+    private final Map<String, Integer> skillIds;
+
+    private TechnicalDictionary(String version, Map<String, String> skillsMap, Set<String> blocked) {
+        this.version = version;
+        this.skillsMap = Collections.unmodifiableMap(skillsMap);
+        this.blocked = Collections.unmodifiableSet(blocked);
+        this.skillNames = List.copyOf(new LinkedHashSet<>(skillsMap.values()));
+        Map<String, Integer> ids = new HashMap<>();
+        for (int id = 0; id < skillNames.size(); id++) {
+            ids.put(skillNames.get(id), id);
+        }
+        this.skillIds = Collections.unmodifiableMap(ids);
+    }
+
+    /**
+     * Loads the dictionary bundled with the application.
+     */
+    public static TechnicalDictionary loadDefault() {
+        try (InputStream in = TechnicalDictionary.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null)
+                throw new IllegalStateException(DEFAULT_RESOURCE + " is missing from the classpath");
+            return parse(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static TechnicalDictionary load(Path file) throws IOException {
+        return parse(Files.readAllBytes(file));
+    }
+
+    /**
+     * Parses dictionary content. The version is derived from the content, so
+     * the same file always reports the same version.
+     */
+    public static TechnicalDictionary parse(byte[] content) {
+        Map<String, String> skillsMap = new LinkedHashMap<>();
+        Set<String> blocked = new HashSet<>();
+        boolean inBlocked = false;
+
+        String[] lines = new String(content, StandardCharsets.UTF_8).split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+            if (line.startsWith("[")) {
+                if (line.equals("[skills]") || line.equals("[blocked]")) {
+                    inBlocked = line.equals("[blocked]");
+                    continue;
+                }
+                throw new IllegalArgumentException("Unknown section " + line + " on line " + (i + 1));
+            }
+
+            if (inBlocked) {
+                blocked.add(line.toLowerCase(Locale.ROOT));
+                continue;
+            }
+
+            int colon = line.indexOf(':');
+            String skill = (colon < 0 ? line : line.substring(0, colon)).strip();
+            if (skill.isEmpty())
+                throw new IllegalArgumentException("Missing skill name on line " + (i + 1));
+            add(skillsMap, skill, skill, i);
+            if (colon >= 0) {
+                for (String alias : line.substring(colon + 1).split(",")) {
+                    if (!alias.isBlank()) {
+                        add(skillsMap, alias.strip(), skill, i);
+                    }
+                }
+            }
+        }
+        return new TechnicalDictionary(versionOf(content), skillsMap, blocked);
+    }
+
+    private static void add(Map<String, String> skillsMap, String key, String skill, int line) {
+        String previous = skillsMap.putIfAbsent(key.toLowerCase(Locale.ROOT), skill);
+        if (previous != null && !previous.equals(skill)) {
+            throw new IllegalArgumentException(
+                    "\"" + key + "\" on line " + (line + 1) + " is already defined for " + previous);
+        }
+    }
+
+    private static String versionOf(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(hash, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Increases with every dictionary loaded, so of two dictionaries the one
+     * with the higher generation is the more recent.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Short content hash identifying this dictionary in responses.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public Map<String, String> getSkillsMap() {
+        return skillsMap;
+    }
+
+    public Set<String> getBlocked() {
+        return blocked;
+    }
+
+    public List<String> getSkillNames() {
+        return skillNames;
+    }
+
+    public int idOf(String skill) {
+        return skillIds.getOrDefault(skill, -1);
+    }
+
+    public String nameOf(int id) {
+        return skillNames.get(id);
+    }
+
+    public int size() {
+        return skillNames.size();
+    }
+
+    /**
+     * Turns per-id counts into display name to count, in dictionary order,
+     * leaving out skills that don't occur.
+     */
+    public Map<String, Integer> countsByName(int[] counts) {
+        Map<String, Integer> named = new LinkedHashMap<>();
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0) {
+                named.put(skillNames.get(id), counts[id]);
+            }
+        }
+        return named;
+    }
+
+    /**
+     * Resolves skill ids to display names, sorted alphabetically.
+     */
+    public List<String> namesOf(BitSet ids) {
+        List<String> names = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            names.add(skillNames.get(id));
+        }
+        Collections.sort(names);
+        return names;
+    }
 }
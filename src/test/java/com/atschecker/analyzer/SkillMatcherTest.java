@@ -0,0 +1,195 @@
+package com.atschecker.analyzer;
+
+import com.atschecker.util.TechnicalDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillMatcherTest {
+
+    // The shipped dictionary with its derived variants, as the service uses it
+    private static final CompiledDictionary DICTIONARY = CompiledDictionary.compile(TechnicalDictionary.loadDefault());
+
+    @Test
+    void javaIsNotFoundInsideJavaScript() {
+        SkillMatcher matcher = matcher("java", "javascript");
+
+        assertEquals(List.of("javascript"), found(matcher, "Senior JavaScript engineer"));
+        assertEquals(List.of("javascript", "java"), found(matcher, "JavaScript and Java"));
+    }
+
+    @Test
+    void matchingIgnoresCase() {
+        assertEquals(List.of("java"), found(matcher("java"), "JAVA developer"));
+    }
+
+    @Test
+    void sentencePunctuationEndsAToken() {
+        SkillMatcher matcher = matcher("java");
+
+        assertEquals(List.of("java"), found(matcher, "I write Java."));
+        assertEquals(List.of("java", "java"), found(matcher, "Java, Go; (Java)"));
+        assertEquals(2, matcher.countSkills("Java, Go; (Java)")[0]);
+    }
+
+    @Test
+    void dotBetweenAlphanumericsJoinsTheToken() {
+        SkillMatcher matcher = matcher("node.js", "node", "net", "asp.net", "java");
+
+        assertEquals(List.of("node.js"), found(matcher, "Built APIs in Node.js."));
+        assertEquals(List.of("asp.net"), found(matcher, "ASP.NET MVC"));
+        assertEquals(List.of(), found(matcher, "java.util.List"));
+    }
+
+    @Test
+    void hashAndPlusArePartOfAToken() {
+        SkillMatcher matcher = matcher("c", "c#", "c++");
+
+        assertEquals(List.of("c#", "c++"), found(matcher, "C# and C++"));
+        assertEquals(List.of("c"), found(matcher, "Embedded C, no C++11"));
+    }
+
+    @Test
+    void whitespaceRunsMatchOneSpaceInMultiWordSkills() {
+        SkillMatcher matcher = matcher("spring boot");
+
+        assertEquals(List.of("spring boot"), found(matcher, "Spring   Boot"));
+        assertEquals(List.of("spring boot"), found(matcher, "Spring\n\t Boot"));
+        assertEquals(List.of(), found(matcher, "SpringBoot"));
+    }
+
+    @Test
+    void matchesReportTheirOffsetsInTheOriginalText() {
+        SkillMatcher matcher = matcher("spring boot", "go");
+        String text = "  Go\n\nand  Spring \n  Boot!";
+
+        List<int[]> matches = new ArrayList<>();
+        matcher.scan(text, (skillId, start, end) -> matches.add(new int[] { skillId, start, end }));
+
+        assertEquals(2, matches.size());
+        assertArrayEquals(new int[] { 1, 2, 4 }, matches.get(0));
+        assertArrayEquals(new int[] { 0, text.indexOf("Spring"), text.indexOf("!") }, matches.get(1));
+    }
+
+    @Test
+    void startOffsetsAreRightForPatternsOfEveryLength() {
+        // The ring buffer holding recent offsets is sized from the longest pattern
+        for (int length = 1; length <= 40; length++) {
+            String skill = "x".repeat(length - 1) + "y";
+            SkillMatcher matcher = matcher(skill, "z");
+            String text = "z  z " + "q".repeat(50) + " z  " + skill + "   z";
+
+            int[] span = new int[2];
+            int expected = text.indexOf(" " + skill) + 1;
+            matcher.scan(text, (skillId, start, end) -> {
+                if (skillId == 0) {
+                    span[0] = start;
+                    span[1] = end;
+                }
+            });
+            assertEquals(expected, span[0], "start for length " + length);
+            assertEquals(expected + length, span[1], "end for length " + length);
+        }
+    }
+
+    @Test
+    void longPatternSpreadByWhitespaceRunsStartsAtItsFirstLetter() {
+        SkillMatcher matcher = matcher("amazon web services elastic kubernetes service");
+        String text = "Ran Amazon    Web\tServices\n\nElastic   Kubernetes     Service clusters";
+
+        int[] starts = { -1 };
+        matcher.scan(text, (skillId, start, end) -> starts[0] = start);
+        assertEquals(text.indexOf("Amazon"), starts[0]);
+    }
+
+    @Test
+    void differentSkillsMayOverlap() {
+        SkillMatcher matcher = matcher("spring", "spring boot");
+
+        assertEquals(List.of("spring", "spring boot"), found(matcher, "Spring Boot"));
+    }
+
+    @Test
+    void aSkillAndItsVariantsCountOnceWhereTheyOverlap() {
+        SkillMatcher matcher = DICTIONARY.getMatcher();
+        int react = DICTIONARY.getDictionary().idOf("React");
+
+        assertEquals(1, matcher.countSkills("React JS")[react]);
+        assertEquals(1, matcher.countSkills("React.js")[react]);
+        assertEquals(1, matcher.countSkills("ReactJS")[react]);
+        assertEquals(2, matcher.countSkills("React and React JS")[react]);
+    }
+
+    @Test
+    void dictionaryVariantsMatchUnderTheirCanonicalName() {
+        Set<String> found = DICTIONARY.getMatcher().extract("Spring-Boot, NodeJS, Kuberentes and Golang");
+
+        assertEquals(List.of("Spring", "Spring Boot", "Node.js", "Kubernetes", "Go"), new ArrayList<>(found));
+    }
+
+    @Test
+    void blockedKeysAreNeverMatched() {
+        Map<String, String> skills = new LinkedHashMap<>();
+        skills.put("go", "Go");
+        skills.put("golang", "Go");
+        SkillMatcher matcher = SkillMatcher.compile(skills, Set.of("go"), List.of("Go"));
+
+        assertEquals(0, matcher.countSkills("Go to market")[0]);
+        assertEquals(1, matcher.countSkills("Golang services")[0]);
+    }
+
+    @Test
+    void blockedKeysGetNoVariants() {
+        TechnicalDictionary dictionary = TechnicalDictionary.parse(
+                "[skills]\nSpring Boot\nKubernetes\n[blocked]\nspring boot\nkubernetes\n".getBytes());
+        SkillMatcher matcher = CompiledDictionary.compile(dictionary).getMatcher();
+
+        assertEquals(Set.of(), matcher.extract("Spring-Boot, SpringBoot, spring.boot and Kuberentes"));
+    }
+
+    @Test
+    void extractKeepsOrderOfFirstOccurrence() {
+        SkillMatcher matcher = matcher("java", "go", "rust");
+
+        assertEquals(List.of("rust", "java", "go"),
+                new ArrayList<>(matcher.extract("Rust, Java, Rust and Go")));
+        assertArrayEquals(new int[] { 2, 0, 1 }, matcher.findSkillsInOrder("Rust, Java, Rust and Go"));
+    }
+
+    @Test
+    void keysAreLowercasedTheSameInEveryLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            // Turkish lowercases "I" to a dotless "ı"
+            SkillMatcher matcher = matcher("LINUX", "SQLITE");
+
+            assertEquals(List.of("LINUX", "SQLITE"), found(matcher, "Linux and SQLite"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    // A matcher whose skills are the given keys, displayed as themselves, with ids in argument order
+    private static SkillMatcher matcher(String... keys) {
+        Map<String, String> skills = new LinkedHashMap<>();
+        for (String key : keys) {
+            skills.put(key, key);
+        }
+        return SkillMatcher.compile(skills, Set.of(), List.of(keys));
+    }
+
+    // Skill names in the order their matches end
+    private static List<String> found(SkillMatcher matcher, String text) {
+        List<String> found = new ArrayList<>();
+        matcher.scan(text, (skillId, start, end) -> found.add(matcher.skillName(skillId)));
+        return found;
+    }
+}
@@ -0,0 +1,49 @@
+package com.atschecker.controller;
+
+import com.atschecker.dto.ResponseField;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseFieldsTest {
+
+    @Test
+    void jsonOrNoPreferenceGetsTheFullSet() {
+        assertEquals(ResponseField.FULL, ResponseFields.select(null, null));
+        assertEquals(ResponseField.FULL, ResponseFields.select(null, "application/json"));
+        assertEquals(ResponseField.FULL, ResponseFields.select(null, "*/*"));
+    }
+
+    @Test
+    void cborGetsTheCompactSet() {
+        assertEquals(ResponseField.COMPACT, ResponseFields.select(null, "application/cbor"));
+        assertEquals(ResponseField.COMPACT, ResponseFields.select(null, "application/cbor, application/json"));
+    }
+
+    @Test
+    void equalQualitiesAreDecidedByOrder() {
+        assertEquals(ResponseField.FULL, ResponseFields.select(null, "application/json, application/cbor"));
+        assertEquals(ResponseField.FULL, ResponseFields.select(null, "application/*, application/cbor"));
+    }
+
+    @Test
+    void qualityValuesOutrankOrder() {
+        assertEquals(ResponseField.FULL, ResponseFields.select(null, "application/cbor;q=0.1, application/json"));
+        assertEquals(ResponseField.COMPACT, ResponseFields.select(null, "application/json;q=0.5, application/cbor"));
+        assertEquals(ResponseField.FULL, ResponseFields.select(null, "application/cbor;q=0, */*;q=0.1"));
+    }
+
+    @Test
+    void malformedAcceptFallsBackToTheFullSet() {
+        assertEquals(ResponseField.FULL, ResponseFields.select(null, "application/cbor;q=x"));
+    }
+
+    @Test
+    void fieldsParameterWinsOverAccept() {
+        assertEquals(Set.of(ResponseField.WARNINGS),
+                ResponseFields.select("warnings", "application/cbor"));
+        assertNull(ResponseFields.select("nonsense", null));
+    }
+}
@@ -0,0 +1,191 @@
+package com.atschecker.document;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResumeSegmenterTest {
+
+    @Test
+    void tokensAreRunsOfLettersAndDigits() {
+        ResumeDocument document = ResumeSegmenter.segment("C++ and Node.js, 5 years\n");
+
+        assertEquals(List.of("C", "and", "Node", "js", "5", "years"), tokens(document));
+    }
+
+    @Test
+    void textBeforeTheFirstHeaderIsSectionZero() {
+        String text = "Jane Doe\nBackend developer\n\nExperience\nBuilt Java services\n";
+        ResumeDocument document = ResumeSegmenter.segment(text);
+
+        assertEquals(2, document.sectionCount());
+        assertEquals(SectionKind.OTHER, document.sectionKind(0));
+        assertEquals(SectionKind.EXPERIENCE, document.sectionKind(1));
+        assertEquals(0, document.sectionStart(0));
+        assertEquals(text.indexOf("Experience"), document.sectionStart(1));
+        assertEquals(text.indexOf("Built"), document.bodyStart(1));
+        assertEquals(text.length(), document.sectionEnd(1));
+    }
+
+    @Test
+    void headerAtTheTopReplacesTheEmptyLeadingSection() {
+        ResumeDocument document = ResumeSegmenter.segment("SKILLS\nJava, Go\n");
+
+        assertEquals(1, document.sectionCount());
+        assertEquals(SectionKind.SKILLS, document.sectionKind(0));
+        assertEquals(0, document.firstToken(0));
+        assertEquals(1, document.firstBodyToken(0));
+    }
+
+    @Test
+    void shortLineContainingAKeywordIsAHeader() {
+        ResumeDocument document = ResumeSegmenter.segment("Intro\nProfessional Work Experience\nJava\n");
+
+        assertEquals(SectionKind.EXPERIENCE, document.sectionKind(1));
+        assertEquals("Java", token(document, document.firstBodyToken(1)));
+    }
+
+    @Test
+    void keywordsInRunningTextDoNotStartASection() {
+        ResumeDocument document = ResumeSegmenter.segment(
+                "Intro\nI gained experience with Java\nMy skills in production systems are broad\n");
+
+        assertEquals(1, document.sectionCount());
+        assertEquals(SectionKind.OTHER, document.sectionKind(0));
+    }
+
+    @Test
+    void shortLineOverTheLengthLimitIsNotAHeader() {
+        ResumeDocument document = ResumeSegmenter.segment(
+                "Intro\nExperience aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\n");
+
+        assertEquals(1, document.sectionCount());
+    }
+
+    @Test
+    void keywordMustBeAWholeTokenIgnoringCase() {
+        ResumeDocument document = ResumeSegmenter.segment("Intro\nSkillset\neducation\nBSc\n");
+
+        assertEquals(2, document.sectionCount());
+        assertEquals(SectionKind.EDUCATION, document.sectionKind(1));
+    }
+
+    @Test
+    void labelStartsASectionOnItsOwnLine() {
+        String text = "Intro\nSkills: Java, Go and a long list of other things that follow\nEmail: jane@example.com\n";
+        ResumeDocument document = ResumeSegmenter.segment(text);
+
+        assertEquals(3, document.sectionCount());
+        assertEquals(SectionKind.SKILLS, document.sectionKind(1));
+        assertEquals(text.indexOf("Skills"), document.sectionStart(1));
+        assertEquals(text.indexOf(": Java") + 1, document.bodyStart(1));
+        assertEquals("Java", token(document, document.firstBodyToken(1)));
+        assertEquals(SectionKind.CONTACT, document.sectionKind(2));
+        assertEquals("jane", token(document, document.firstBodyToken(2)));
+    }
+
+    @Test
+    void headerWithNothingUnderItHasNoBodyTokens() {
+        ResumeDocument document = ResumeSegmenter.segment("Intro\nProjects\nEducation\nBSc Computing\n");
+
+        assertEquals(3, document.sectionCount());
+        assertEquals(SectionKind.PROJECTS, document.sectionKind(1));
+        assertEquals(document.endToken(1), document.firstBodyToken(1));
+        assertEquals(SectionKind.EDUCATION, document.sectionKind(2));
+        assertEquals(2, document.endToken(2) - document.firstBodyToken(2));
+    }
+
+    @Test
+    void sectionsCoverEveryTokenInOrder() {
+        String text = "Jane\nSummary\nJava dev\nExperience\nAcme 2019\nSkills: Go\nContact\n";
+        ResumeDocument document = ResumeSegmenter.segment(text);
+
+        assertEquals(0, document.firstToken(0));
+        for (int s = 0; s + 1 < document.sectionCount(); s++) {
+            assertEquals(document.endToken(s), document.firstToken(s + 1));
+            assertEquals(document.sectionEnd(s), document.sectionStart(s + 1));
+        }
+        assertEquals(document.tokenCount(), document.endToken(document.sectionCount() - 1));
+        for (int s = 0; s < document.sectionCount(); s++) {
+            for (int t = document.firstToken(s); t < document.endToken(s); t++) {
+                assertTrue(document.tokenStart(t) >= document.sectionStart(s));
+                assertTrue(document.tokenEnd(t) <= document.sectionEnd(s));
+            }
+        }
+    }
+
+    @Test
+    void sectionAtFindsTheSectionOfAnOffset() {
+        String text = "Jane\nExperience\nAcme\nSkills\nGo\n";
+        ResumeDocument document = ResumeSegmenter.segment(text);
+
+        assertEquals(0, document.sectionAt(0));
+        assertEquals(0, document.sectionAt(text.indexOf("Experience") - 1));
+        assertEquals(1, document.sectionAt(text.indexOf("Experience")));
+        assertEquals(1, document.sectionAt(text.indexOf("Acme")));
+        assertEquals(2, document.sectionAt(text.indexOf("Go")));
+        assertEquals(2, document.sectionAt(text.length() - 1));
+    }
+
+    @Test
+    void emptyTextIsOneEmptySection() {
+        ResumeDocument document = ResumeSegmenter.segment("");
+
+        assertEquals(1, document.sectionCount());
+        assertEquals(0, document.tokenCount());
+        assertEquals(0, document.symbolCount());
+        assertEquals(1, document.lineCount());
+    }
+
+    @Test
+    void lineAndSymbolCountsMatchSplitAndChars() {
+        assertCountsMatch("a\nb");
+        assertCountsMatch("a\n\n\n");
+        assertCountsMatch("\n");
+        assertCountsMatch("\n\n a");
+        assertCountsMatch(" \n");
+        assertCountsMatch("a\r\nb\r\n");
+        assertCountsMatch("• C++ / C# — 100%\n");
+
+        // Random mixes of the characters the two counts treat differently
+        char[] alphabet = { 'a', 'Z', '7', 'é', ' ', '\t', '\r', '\n', '\n', '-', ':', '•', '@', '+' };
+        Random random = new Random(42);
+        for (int run = 0; run < 20_000; run++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertCountsMatch(text.toString());
+        }
+    }
+
+    // The rules FormattingSignal used before the text was segmented
+    private static void assertCountsMatch(String text) {
+        ResumeDocument document = ResumeSegmenter.segment(text);
+        long symbols = text.chars().filter(ch -> !Character.isLetterOrDigit(ch) && !Character.isWhitespace(ch))
+                .count();
+        assertEquals(symbols, document.symbolCount(), () -> "symbols in " + escape(text));
+        assertEquals(text.split("\n").length, document.lineCount(), () -> "lines in " + escape(text));
+    }
+
+    private static List<String> tokens(ResumeDocument document) {
+        List<String> tokens = new ArrayList<>();
+        for (int t = 0; t < document.tokenCount(); t++) {
+            tokens.add(token(document, t));
+        }
+        return tokens;
+    }
+
+    private static String token(ResumeDocument document, int t) {
+        return document.text().subSequence(document.tokenStart(t), document.tokenEnd(t)).toString();
+    }
+
+    private static String escape(String text) {
+        return '"' + text.replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t") + '"';
+    }
+}
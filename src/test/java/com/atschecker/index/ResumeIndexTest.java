@@ -0,0 +1,150 @@
+package com.atschecker.index;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResumeIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private ResumeIndex index;
+
+    @AfterEach
+    void closeIndex() throws IOException {
+        if (index != null)
+            index.close();
+    }
+
+    @Test
+    void resumesSurviveRestart() throws IOException {
+        index = open();
+        index.add("d1", "a.pdf", 30, Map.of("Java", 2, "Go", 1));
+        index.add("d2", "b.pdf", 20, Map.of("Go", 1));
+
+        reopen();
+
+        assertEquals(2, index.size());
+        assertEquals("a.pdf", index.fileName(0));
+        assertTrue(index.hasSkill(0, "Java"));
+        assertTrue(index.hasSkill(1, "Go"));
+        assertEquals(0, index.add("d1", "again.pdf", 30, Map.of("Java", 1)));
+    }
+
+    @Test
+    void recordThatCannotBeWrittenLeavesTheLogIntact() throws IOException {
+        index = open();
+        index.add("d1", "a.pdf", 30, Map.of("Java", 1));
+        // writeUTF rejects strings over 64KB
+        assertThrows(IOException.class, () -> index.add("d2", "x".repeat(70_000), 20, Map.of("Go", 1)));
+        index.add("d3", "c.pdf", 10, Map.of("Rust", 1));
+
+        reopen();
+
+        assertEquals(2, index.size());
+        assertEquals("a.pdf", index.fileName(0));
+        assertEquals("c.pdf", index.fileName(1));
+        assertTrue(index.hasSkill(1, "Rust"));
+    }
+
+    @Test
+    void truncatedLastRecordIsDroppedAndAppendsFollowTheLastGoodOne() throws IOException {
+        index = open();
+        index.add("d1", "a.pdf", 30, Map.of("Java", 1));
+        index.add("d2", "b.pdf", 20, Map.of("Go", 1));
+        index.close();
+        Path log = dir.resolve("resumes.log");
+        try (RandomAccessFile file = new RandomAccessFile(log.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        index = open();
+        assertEquals(1, index.size());
+        index.add("d3", "c.pdf", 10, Map.of("Rust", 1));
+        reopen();
+
+        assertEquals(2, index.size());
+        assertEquals("c.pdf", index.fileName(1));
+    }
+
+    @Test
+    void replayStopsAtADamagedRecord() throws IOException {
+        index = open();
+        index.add("d1", "a.pdf", 30, Map.of("Java", 1));
+        long firstEnd = Files.size(dir.resolve("resumes.log"));
+        index.add("d2", "b.pdf", 20, Map.of("Go", 1));
+        index.add("d3", "c.pdf", 10, Map.of("Rust", 1));
+        index.close();
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve("resumes.log").toFile(), "rw")) {
+            // A byte inside the second record's file name
+            long position = firstEnd + 8 + 4 + 3;
+            file.seek(position);
+            int original = file.read();
+            file.seek(position);
+            file.write(original ^ 0xFF);
+        }
+
+        index = open();
+
+        assertEquals(1, index.size());
+        assertEquals(firstEnd, Files.size(dir.resolve("resumes.log")));
+        assertFalse(index.hasSkill(0, "Go"));
+    }
+
+    @Test
+    void logWrittenBeforeFramingIsConverted() throws IOException {
+        Path log = dir.resolve("resumes.log");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(log))) {
+            writeUnframed(out, "d1", "a.pdf", 30, Map.of("Java", 2));
+            writeUnframed(out, "d2", "b.pdf", 20, Map.of("Go", 1));
+            // Cut short by a crash
+            out.writeUTF("d3");
+        }
+
+        index = open();
+        assertEquals(2, index.size());
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(log))) {
+            assertEquals(0x52495831, in.readInt());
+        }
+        index.add("d4", "d.pdf", 10, Map.of("Rust", 1));
+        reopen();
+
+        assertEquals(3, index.size());
+        assertEquals(List.of("a.pdf", "b.pdf", "d.pdf"),
+                List.of(index.fileName(0), index.fileName(1), index.fileName(2)));
+        assertTrue(index.hasSkill(0, "Java"));
+    }
+
+    private ResumeIndex open() throws IOException {
+        return new ResumeIndex(dir.toString());
+    }
+
+    private void reopen() throws IOException {
+        index.close();
+        index = open();
+    }
+
+    private static void writeUnframed(DataOutputStream out, String digest, String fileName, double documentScore,
+            Map<String, Integer> skillCounts) throws IOException {
+        out.writeUTF(digest);
+        out.writeUTF(fileName);
+        out.writeDouble(documentScore);
+        out.writeInt(skillCounts.size());
+        for (Map.Entry<String, Integer> skill : skillCounts.entrySet()) {
+            out.writeUTF(skill.getKey());
+            out.writeInt(skill.getValue());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.atschecker.jobs;
+
+import com.atschecker.dto.AnalysisResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisJobStoreTest {
+
+    private static final Duration WEEK = Duration.ofDays(7);
+    // The cutoff lies in the future, so every finished job has expired
+    private static final Duration EXPIRED = Duration.ofMillis(-1);
+    private static final byte[] RESUME = "Java developer".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private AnalysisJobStore store;
+
+    @AfterEach
+    void closeStore() throws IOException {
+        if (store != null)
+            store.close();
+    }
+
+    @Test
+    void finishedJobsSurviveRestartWithTheirResult() throws IOException {
+        store = open(WEEK);
+        AnalysisJob done = submit("a");
+        store.started(done);
+        store.succeeded(done, response(88));
+        AnalysisJob broken = submit("b");
+        store.started(broken);
+        store.failed(broken, "Unreadable");
+
+        reopen(WEEK);
+
+        AnalysisJob replayedDone = store.find("a");
+        assertEquals(JobStatus.SUCCEEDED, replayedDone.getStatus());
+        assertEquals(88, replayedDone.getResult().getAtsScore());
+        assertEquals(1, replayedDone.getAttempts());
+        assertEquals(JobStatus.FAILED, store.find("b").getStatus());
+        assertEquals("Unreadable", store.find("b").getError());
+        assertTrue(store.queued().isEmpty());
+    }
+
+    @Test
+    void runningJobIsQueuedAgainAfterRestart() throws IOException {
+        store = open(WEEK);
+        AnalysisJob job = submit("a");
+        store.started(job);
+
+        reopen(WEEK);
+
+        AnalysisJob replayed = store.find("a");
+        assertEquals(JobStatus.QUEUED, replayed.getStatus());
+        assertEquals(1, replayed.getAttempts());
+        assertEquals(List.of(replayed), store.queued());
+        assertArrayEquals(RESUME, readPayload(replayed));
+    }
+
+    @Test
+    void retriedJobKeepsItsErrorAcrossRestart() throws IOException {
+        store = open(WEEK);
+        AnalysisJob job = submit("a");
+        store.started(job);
+        store.retrying(job, "Parse timed out");
+
+        reopen(WEEK);
+
+        assertEquals(JobStatus.QUEUED, store.find("a").getStatus());
+        assertEquals("Parse timed out", store.find("a").getError());
+    }
+
+    @Test
+    void truncatedTailRecordIsDroppedAndNewRecordsFollowIt() throws IOException {
+        store = open(WEEK);
+        AnalysisJob job = submit("a");
+        store.started(job);
+        store.succeeded(job, response(70));
+        store.close();
+
+        // A crash part-way through a record: the length says 100 bytes, only 3 made it
+        try (DataOutputStream out = new DataOutputStream(
+                Files.newOutputStream(logFile(), StandardOpenOption.APPEND))) {
+            out.writeInt(100);
+            out.write(new byte[] { 2, 0, 1 });
+        }
+
+        store = open(WEEK);
+        assertEquals(JobStatus.SUCCEEDED, store.find("a").getStatus());
+        submit("b");
+
+        reopen(WEEK);
+        assertEquals(JobStatus.SUCCEEDED, store.find("a").getStatus());
+        assertEquals(JobStatus.QUEUED, store.find("b").getStatus());
+    }
+
+    @Test
+    void restartDropsExpiredFinishedJobsButKeepsQueuedOnes() throws IOException {
+        store = open(WEEK);
+        AnalysisJob finished = submit("a");
+        store.started(finished);
+        store.succeeded(finished, response(50));
+        submit("b");
+
+        reopen(EXPIRED);
+
+        assertNull(store.find("a"));
+        assertNull(store.findByKey("key-a"));
+        assertEquals(JobStatus.QUEUED, store.find("b").getStatus());
+    }
+
+    @Test
+    void restartKeepsFinishedJobsWithinRetention() throws IOException {
+        store = open(WEEK);
+        AnalysisJob finished = submit("a");
+        store.started(finished);
+        store.succeeded(finished, response(50));
+
+        reopen(WEEK);
+
+        assertSame(store.find("a"), store.findByKey("key-a"));
+    }
+
+    @Test
+    void purgeRewritesTheLogWhileRunning() throws IOException {
+        store = open(EXPIRED);
+        AnalysisJob finished = submit("a");
+        store.started(finished);
+        store.succeeded(finished, response(50));
+        long before = Files.size(logFile());
+
+        assertEquals(1, store.purgeExpired());
+        assertTrue(Files.size(logFile()) < before);
+        assertEquals(0, store.purgeExpired());
+
+        // Appends after the rewrite land in the new log
+        submit("b");
+        reopen(EXPIRED);
+        assertNull(store.find("a"));
+        assertEquals(JobStatus.QUEUED, store.find("b").getStatus());
+    }
+
+    @Test
+    void failedSubmissionLeavesNoPayloadAndTheLogUsable() throws IOException {
+        store = open(WEEK);
+        // writeUTF rejects strings over 64KB
+        String longName = "x".repeat(70_000);
+        assertThrows(IOException.class, () -> store.submit("a", "key-a", longName, "Java developer",
+                JobPriority.NORMAL, RESUME));
+        assertFalse(Files.exists(payload("a")));
+        assertNull(store.find("a"));
+
+        AnalysisJob next = submit("b");
+        reopen(WEEK);
+
+        assertEquals(JobStatus.QUEUED, store.find("b").getStatus());
+        assertEquals(List.of(store.find("b")), store.queued());
+        assertEquals(next.getFileName(), store.find("b").getFileName());
+    }
+
+    @Test
+    void payloadsAreRemovedOnceNoQueuedJobNeedsThem() throws IOException {
+        store = open(WEEK);
+        AnalysisJob done = submit("a");
+        AnalysisJob waiting = submit("b");
+        assertTrue(Files.exists(payload("a")));
+        store.started(done);
+        store.succeeded(done, response(60));
+        assertFalse(Files.exists(payload("a")));
+        store.close();
+
+        // Left behind by a submission that crashed before its record was written
+        Files.write(payload("orphan"), RESUME);
+
+        store = open(WEEK);
+        assertFalse(Files.exists(payload("orphan")));
+        assertTrue(Files.exists(payload("b")));
+        assertArrayEquals(RESUME, readPayload(store.find(waiting.getId())));
+    }
+
+    @Test
+    void identicalSubmissionReturnsTheExistingJobUnlessItFailed() throws IOException {
+        store = open(WEEK);
+        AnalysisJob first = submit("a");
+        assertSame(first, store.submit("a2", "key-a", "resume.txt", "Java", JobPriority.NORMAL, RESUME));
+        assertFalse(Files.exists(payload("a2")));
+
+        store.started(first);
+        store.failed(first, "Unreadable");
+        AnalysisJob second = store.submit("a3", "key-a", "resume.txt", "Java", JobPriority.NORMAL, RESUME);
+        assertEquals("a3", second.getId());
+    }
+
+    @Test
+    void jobsAreKeptInMemoryWithoutADataDirectory() throws IOException {
+        store = new AnalysisJobStore("", WEEK, new ObjectMapper());
+        AnalysisJob job = submit("a");
+
+        assertArrayEquals(RESUME, readPayload(job));
+        store.started(job);
+        store.succeeded(job, response(90));
+        assertEquals(JobStatus.SUCCEEDED, store.find("a").getStatus());
+        assertEquals(0, store.purgeExpired());
+    }
+
+    private AnalysisJobStore open(Duration retention) throws IOException {
+        return new AnalysisJobStore(dir.toString(), retention, new ObjectMapper());
+    }
+
+    private void reopen(Duration retention) throws IOException {
+        store.close();
+        store = open(retention);
+    }
+
+    private AnalysisJob submit(String id) throws IOException {
+        return store.submit(id, "key-" + id, id + ".txt", "Java developer", JobPriority.NORMAL, RESUME);
+    }
+
+    private byte[] readPayload(AnalysisJob job) throws IOException {
+        try (var stream = store.payload(job).openStream()) {
+            return stream.readAllBytes();
+        }
+    }
+
+    private Path logFile() {
+        return dir.resolve("jobs.log");
+    }
+
+    private Path payload(String id) {
+        return dir.resolve("payloads").resolve(id + ".bin");
+    }
+
+    private static AnalysisResponse response(int score) {
+        return new AnalysisResponse(score, List.of("Java"), List.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,74 @@
+package com.atschecker.parser;
+
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.model.XWPFHeaderFooterPolicy;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentExtractorsTest {
+
+    @Test
+    void docxTextMatchesPoiExtractor() throws IOException {
+        byte[] docx = docx(3);
+
+        String text = DocumentExtractors.docx(new ByteArrayInputStream(docx), 100_000);
+
+        try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(docx));
+                XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+            assertEquals(extractor.getText(), text);
+        }
+        assertTrue(text.startsWith("Jane Doe - jane@example.com\n"));
+        assertTrue(text.contains("Java\tSpring Boot\tKubernetes\n"));
+    }
+
+    @Test
+    void docxStopsAtTheCharacterLimit() throws IOException {
+        byte[] docx = docx(5_000);
+        String full = DocumentExtractors.docx(new ByteArrayInputStream(docx), Integer.MAX_VALUE);
+
+        String limited = DocumentExtractors.docx(new ByteArrayInputStream(docx), 1_000);
+
+        assertEquals(1_000, limited.length());
+        assertEquals(full.substring(0, 1_000), limited);
+    }
+
+    @Test
+    void docxLimitCanFallInsideATable() throws IOException {
+        byte[] docx = docx(1);
+        String full = DocumentExtractors.docx(new ByteArrayInputStream(docx), Integer.MAX_VALUE);
+        int inTable = full.indexOf("Spring Boot") + 3;
+
+        assertEquals(full.substring(0, inTable), DocumentExtractors.docx(new ByteArrayInputStream(docx), inTable));
+    }
+
+    // A header, a skills table and the given number of experience paragraphs
+    private static byte[] docx(int paragraphs) throws IOException {
+        try (XWPFDocument document = new XWPFDocument()) {
+            new XWPFHeaderFooterPolicy(document).createHeader(XWPFHeaderFooterPolicy.DEFAULT)
+                    .createParagraph().createRun().setText("Jane Doe - jane@example.com");
+            document.createParagraph().createRun().setText("SKILLS");
+            XWPFTable table = document.createTable(2, 3);
+            String[][] cells = { { "Java", "Spring Boot", "Kubernetes" }, { "PostgreSQL", "Docker", "AWS" } };
+            for (int row = 0; row < 2; row++) {
+                for (int column = 0; column < 3; column++) {
+                    table.getRow(row).getCell(column).setText(cells[row][column]);
+                }
+            }
+            document.createParagraph().createRun().setText("EXPERIENCE");
+            for (int i = 0; i < paragraphs; i++) {
+                document.createParagraph().createRun()
+                        .setText("Built service " + i + " in Java and ran it on Kubernetes.");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.atschecker.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedTextCacheTest {
+
+    private static final String TEXT = "x".repeat(1000);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void diskTierStaysWithinItsLimit() throws Exception {
+        ParsedTextCache cache = cache(DataSize.ofBytes(10_000));
+        for (int i = 0; i < 50; i++) {
+            cache.put(digest(i), TEXT);
+        }
+
+        assertTrue(cache.diskUsageBytes() <= 10_000);
+        assertEquals(directorySize(), cache.diskUsageBytes());
+        assertTrue(Files.exists(dir.resolve(digest(49) + ".txt")));
+        assertFalse(Files.exists(dir.resolve(digest(0) + ".txt")));
+    }
+
+    @Test
+    void recentlyReadEntriesOutliveOlderOnes() throws Exception {
+        ParsedTextCache writer = cache(DataSize.ofBytes(10_000));
+        long written = System.currentTimeMillis() - 60_000;
+        for (int i = 0; i < 9; i++) {
+            writer.put(digest(i), TEXT);
+            Files.setLastModifiedTime(dir.resolve(digest(i) + ".txt"), FileTime.fromMillis(written + i));
+        }
+
+        // A fresh instance has an empty memory tier, so this read goes to disk
+        ParsedTextCache cache = cache(DataSize.ofBytes(10_000));
+        assertEquals(TEXT, cache.get(digest(0)));
+        cache.put(digest(9), TEXT);
+        cache.put(digest(10), TEXT);
+
+        assertTrue(Files.exists(dir.resolve(digest(0) + ".txt")));
+        assertFalse(Files.exists(dir.resolve(digest(1) + ".txt")));
+    }
+
+    @Test
+    void startupTrimsAnOversizedTierAndLeftoverTempFiles() throws Exception {
+        ParsedTextCache large = cache(DataSize.ofMegabytes(1));
+        for (int i = 0; i < 20; i++) {
+            large.put(digest(i), TEXT);
+        }
+        Files.writeString(dir.resolve(digest(99) + "123.tmp"), TEXT);
+
+        ParsedTextCache small = cache(DataSize.ofBytes(5_000));
+
+        assertTrue(small.diskUsageBytes() <= 5_000);
+        assertEquals(directorySize(), small.diskUsageBytes());
+    }
+
+    private ParsedTextCache cache(DataSize maxDisk) {
+        return new ParsedTextCache(true, DataSize.ofMegabytes(1), Duration.ofHours(1), dir.toString(), maxDisk);
+    }
+
+    private long directorySize() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static String digest(int i) {
+        return "%064x".formatted(i);
+    }
+}
@@ -0,0 +1,128 @@
+package com.atschecker.scorer;
+
+import com.atschecker.util.TechnicalDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillStatisticsTest {
+
+    private final TechnicalDictionary before = dictionary("Java", "Go");
+    private final TechnicalDictionary after = dictionary("Rust", "Java");
+    private final SkillStatistics statistics = new SkillStatistics(100_000);
+
+    @Test
+    void eachResumeCountsOnce() {
+        assertTrue(statistics.observe(digest(1), before, counts(before, "Java")));
+        assertFalse(statistics.observe(digest(1), before, counts(before, "Java")));
+        assertFalse(statistics.observe(digest(1), after, counts(after, "Java")));
+
+        assertEquals(1, statistics.corpus(before).documentCount());
+    }
+
+    @Test
+    void fewNewResumesAreMistakenForSeenOnesAtTheConfiguredCount() {
+        SkillStatistics sized = new SkillStatistics(10_000);
+        Random random = new Random(7);
+        for (int i = 0; i < 9_000; i++) {
+            sized.observe(HexFormat.of().toHexDigits(random.nextLong()), before, counts(before, "Java"));
+        }
+
+        // Each of these is recorded too, taking the filter to its configured count
+        int mistaken = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (!sized.observe(HexFormat.of().toHexDigits(random.nextLong()), before, counts(before, "Java"))) {
+                mistaken++;
+            }
+        }
+        // About 1% near capacity
+        assertTrue(mistaken < 30, mistaken + " of 1000 new resumes taken for seen ones");
+    }
+
+    @Test
+    void countsMoveToANewerDictionaryByName() {
+        statistics.observe(digest(1), before, counts(before, "Java", "Go"));
+
+        SkillStatistics.Corpus corpus = statistics.corpus(after);
+
+        assertEquals(1, corpus.documentCount());
+        assertEquals(1, corpus.documentFrequency(after.idOf("Java")));
+        assertEquals(0, corpus.documentFrequency(after.idOf("Rust")));
+    }
+
+    @Test
+    void olderDictionaryNeverTakesTheCountsBack() {
+        statistics.observe(digest(1), after, counts(after, "Rust", "Java"));
+
+        // A request still holding a profile compiled before the reload
+        SkillStatistics.Corpus stale = statistics.corpus(before);
+        assertEquals(1, stale.documentFrequency(before.idOf("Java")));
+        statistics.observe(digest(2), before, counts(before, "Java", "Go"));
+
+        SkillStatistics.Corpus current = statistics.corpus(after);
+        assertEquals(2, current.documentCount());
+        assertEquals(1, current.documentFrequency(after.idOf("Rust")));
+        assertEquals(2, current.documentFrequency(after.idOf("Java")));
+    }
+
+    @Test
+    void resumesRecordedDuringAReloadAreKept() throws InterruptedException {
+        int threads = 4;
+        int perThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            Thread worker = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < perThread; i++) {
+                    statistics.observe(digest(offset + i), before, counts(before, "Java"));
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        statistics.corpus(after);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        SkillStatistics.Corpus corpus = statistics.corpus(after);
+        assertEquals(threads * perThread, corpus.documentCount());
+        assertEquals(threads * perThread, corpus.documentFrequency(after.idOf("Java")));
+    }
+
+    private static TechnicalDictionary dictionary(String... skills) {
+        return TechnicalDictionary.parse(("[skills]\n" + String.join("\n", skills) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int[] counts(TechnicalDictionary dictionary, String... skills) {
+        int[] counts = new int[dictionary.size()];
+        for (String skill : skills) {
+            counts[dictionary.idOf(skill)]++;
+        }
+        return counts;
+    }
+
+    // A hex SHA-256; resumes are told apart by its leading bits
+    private static String digest(int i) {
+        return "%016x".formatted(i) + "0".repeat(48);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.atschecker.service.impl;
+
+import com.atschecker.dto.AnalysisJobResponse;
+import com.atschecker.jobs.AnalysisJobStore;
+import com.atschecker.jobs.JobPriority;
+import com.atschecker.jobs.JobStatus;
+import com.atschecker.parser.ResumeSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisJobServiceImplTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resumeWithoutFileNameIsSubmittedAsResume() throws Exception {
+        ResumeSource unnamed = ResumeSource.of(null, "Java developer".getBytes(StandardCharsets.UTF_8));
+
+        AnalysisJobStore store = open();
+        try {
+            // Never started, so the job stays queued
+            AnalysisJobServiceImpl service = new AnalysisJobServiceImpl(store, null, new SimpleMeterRegistry(),
+                    1, 3, Duration.ofSeconds(1));
+            AnalysisJobResponse job = service.submit(unnamed, "Java developer", JobPriority.NORMAL);
+
+            assertEquals("resume", job.getFileName());
+            assertEquals(JobStatus.QUEUED, job.getStatus());
+        } finally {
+            store.close();
+        }
+
+        AnalysisJobStore reopened = open();
+        try {
+            assertEquals("resume", reopened.queued().get(0).getFileName());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private AnalysisJobStore open() throws Exception {
+        return new AnalysisJobStore(dir.toString(), Duration.ofDays(7), new ObjectMapper());
+    }
+}
@@ -0,0 +1,126 @@
+package com.atschecker.service.impl;
+
+import com.atschecker.analyzer.DictionaryRegistry;
+import com.atschecker.analyzer.JobProfileRegistry;
+import com.atschecker.analyzer.KeywordAnalyzer;
+import com.atschecker.dto.AnalysisResponse;
+import com.atschecker.dto.ResponseField;
+import com.atschecker.parser.ParsedTextCache;
+import com.atschecker.parser.ResumeParser;
+import com.atschecker.parser.ResumeSource;
+import com.atschecker.scorer.AtsScorer;
+import com.atschecker.scorer.CountScoringModel;
+import com.atschecker.scorer.FormattingSignal;
+import com.atschecker.scorer.SectionSignal;
+import com.atschecker.scorer.SkillStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisServiceImplTest {
+
+    private static final String JOB = "Java Spring Boot Kubernetes PostgreSQL developer";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final MeterRegistry meters = new SimpleMeterRegistry();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void reusedJobDuplicateNamesTheOriginalAndSharesItsScore() throws Exception {
+        AnalysisServiceImpl service = service("reuse");
+
+        AnalysisResponse original = service.analyze(txt("first.txt", resume("Berlin")), JOB, ResponseField.FULL);
+        AnalysisResponse copy = service.analyze(txt("second.txt", resume("Munich")), JOB, ResponseField.FULL);
+
+        assertNull(original.getDuplicateOf());
+        assertEquals("first.txt", copy.getDuplicateOf());
+        assertEquals(original.getAtsScore(), copy.getAtsScore());
+        assertEquals(original.getMatchedKeywords(), copy.getMatchedKeywords());
+        assertEquals(1, meters.counter("ats.duplicates", "action", "reused").count());
+    }
+
+    @Test
+    void flaggedJobDuplicateIsScoredAndNamesTheOriginal() throws Exception {
+        AnalysisServiceImpl service = service("flag");
+
+        AnalysisResponse original = service.analyze(txt("first.txt", resume("Berlin")), JOB, ResponseField.FULL);
+        AnalysisResponse copy = service.analyze(txt("second.txt", resume("Munich")), JOB, ResponseField.FULL);
+
+        assertNull(original.getDuplicateOf());
+        assertEquals("first.txt", copy.getDuplicateOf());
+        assertNotSame(original, copy);
+        assertEquals(1, meters.counter("ats.duplicates", "action", "flagged").count());
+    }
+
+    @Test
+    void distinctResumesAndOtherJobsAreNotDuplicates() throws Exception {
+        AnalysisServiceImpl service = service("reuse");
+
+        service.analyze(txt("first.txt", resume("Berlin")), JOB, ResponseField.FULL);
+        AnalysisResponse other = service.analyze(txt("other.txt", otherResume()), JOB, ResponseField.FULL);
+        AnalysisResponse otherJob = service.analyze(txt("second.txt", resume("Munich")), "Python Django developer",
+                ResponseField.FULL);
+
+        assertNull(other.getDuplicateOf());
+        assertNull(otherJob.getDuplicateOf());
+    }
+
+    @Test
+    void noDuplicateCheckWhenOff() throws Exception {
+        AnalysisServiceImpl service = service("off");
+
+        service.analyze(txt("first.txt", resume("Berlin")), JOB, ResponseField.FULL);
+        AnalysisResponse copy = service.analyze(txt("second.txt", resume("Munich")), JOB, ResponseField.FULL);
+
+        assertNull(copy.getDuplicateOf());
+    }
+
+    private AnalysisServiceImpl service(String duplicateMode) throws Exception {
+        KeywordAnalyzer analyzer = new KeywordAnalyzer(new DictionaryRegistry("", false));
+        ResumeParser parser = new ResumeParser(
+                new ParsedTextCache(false, DataSize.ofMegabytes(1), Duration.ZERO, "", DataSize.ofMegabytes(1)),
+                meters, 2, 500_000, 8, Duration.ofSeconds(30), Duration.ofSeconds(5), "thread", "256m");
+        SkillStatistics statistics = new SkillStatistics(100_000);
+        AtsScorer scorer = new AtsScorer(List.of(new FormattingSignal(), new SectionSignal()),
+                List.of(new CountScoringModel()), statistics, CountScoringModel.NAME);
+        return new AnalysisServiceImpl(parser, analyzer, new JobProfileRegistry(analyzer, meters, 100), scorer,
+                statistics, executor, meters, 500, DataSize.ofMegabytes(20), 4, duplicateMode, 0.9, 500);
+    }
+
+    private static ResumeSource txt(String name, String text) {
+        return ResumeSource.of(name, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Long enough that changing the city leaves well over 90% of its phrases in common
+    private static String resume(String city) {
+        StringBuilder text = new StringBuilder("Jane Doe\n" + city + ", Germany\n\nEXPERIENCE\n");
+        for (int i = 0; i < 40; i++) {
+            text.append("Built service number ").append(i)
+                    .append(" in Java with Spring Boot, deployed it on Kubernetes and tuned its PostgreSQL queries.\n");
+        }
+        return text.append("\nEDUCATION\nBSc Computer Science\n").toString();
+    }
+
+    private static String otherResume() {
+        StringBuilder text = new StringBuilder("John Roe\nLondon\n\nEXPERIENCE\n");
+        for (int i = 0; i < 40; i++) {
+            text.append("Designed dashboard ").append(i)
+                    .append(" with React and TypeScript on top of a Python Django backend.\n");
+        }
+        return text.append("\nEDUCATION\nBA Design\n").toString();
+    }
+}